@@ -0,0 +1,63 @@
+package tacos.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import tacos.TacoOrder;
+import tacos.data.IngredientCatalog;
+import tacos.web.BinaryTacoOrderCodec;
+import tacos.web.JsonTacoOrderCodec;
+import tacos.web.TacoOrderCodec;
+
+/**
+ * The session codecs under comparison, by name: {@code jdk} (default Java
+ * serialization, what Tomcat uses for session persistence), {@code json} and
+ * {@code binary}.
+ */
+final class Codecs {
+
+    static final String[] NAMES = {"jdk", "json", "binary"};
+
+    private Codecs() {
+    }
+
+    static TacoOrderCodec byName(String name, TacoCloudState app) {
+        return switch (name) {
+            case "jdk" -> new JdkCodec();
+            case "json" -> new JsonTacoOrderCodec(Jackson2ObjectMapperBuilder.json().build());
+            case "binary" -> new BinaryTacoOrderCodec(app.bean(IngredientCatalog.class));
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+    private static class JdkCodec implements TacoOrderCodec {
+
+        @Override
+        public byte[] encode(TacoOrder order) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(order);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public TacoOrder decode(byte[] bytes) {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return (TacoOrder) in.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+    }
+
+}
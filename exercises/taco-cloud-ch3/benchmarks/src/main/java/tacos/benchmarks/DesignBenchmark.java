@@ -0,0 +1,60 @@
+package tacos.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ui.ExtendedModelMap;
+
+import tacos.IngredientRef;
+import tacos.web.DesignTacoController;
+import tacos.web.IngredientRefByIdConverter;
+
+/**
+ * The per-request work of the design page: converting submitted ingredient ids
+ * to the refs a taco is bound with (see {@link FormBindingBenchmark} for binding
+ * the whole form) and filling the model with the ingredient groups (the replacement for
+ * DesignTacoController.filterByType).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DesignBenchmark {
+
+    @Param({"FLTO", "SRCR", "NOPE"})
+    public String ingredientId;
+
+    private IngredientRefByIdConverter converter;
+    private DesignTacoController designController;
+
+    @Setup
+    public void setUp(TacoCloudState app) {
+        converter = app.bean(IngredientRefByIdConverter.class);
+        designController = app.bean(DesignTacoController.class);
+    }
+
+    @Benchmark
+    public IngredientRef convertIngredientId() {
+        return converter.convert(ingredientId);
+    }
+
+    @Benchmark
+    public ExtendedModelMap addIngredientsToModel() {
+        ExtendedModelMap model = new ExtendedModelMap();
+        designController.addIngredientsToModel(model);
+        return model;
+    }
+
+}
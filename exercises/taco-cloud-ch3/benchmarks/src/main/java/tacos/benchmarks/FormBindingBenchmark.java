@@ -0,0 +1,104 @@
+package tacos.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.web.FormDataBinder;
+import tacos.web.IngredientRefByIdConverter;
+import tacos.web.TacoFormBinder;
+import tacos.web.TacoOrderFormBinder;
+
+/**
+ * Binding the parameters of a design POST to a {@link Taco} and of an order
+ * POST to a {@link TacoOrder}, with Spring's binder ({@code default}) and with
+ * {@link FormDataBinder} ({@code form}), the two settings of
+ * {@code taco.binding}.
+ *
+ * Each invocation binds a new form object with a new binder, as a request
+ * does, using the conversion service MVC would have. Validation and reading
+ * the parameters off the request are the same either way and left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormBindingBenchmark {
+
+    @Param({"default", "form"})
+    public String binding;
+
+    private final DefaultFormattingConversionService conversionService =
+            new DefaultFormattingConversionService();
+
+    private TacoFormBinder tacoFormBinder;
+    private TacoOrderFormBinder orderFormBinder;
+    private Map<String, Object> tacoForm;
+    private Map<String, Object> orderForm;
+
+    @Setup
+    public void setUp(TacoCloudState app) {
+        conversionService.addConverter(app.bean(IngredientRefByIdConverter.class));
+        tacoFormBinder = app.bean(TacoFormBinder.class);
+        orderFormBinder = app.bean(TacoOrderFormBinder.class);
+
+        tacoForm = new LinkedHashMap<>();
+        tacoForm.put("name", "Benchmark taco");
+        tacoForm.put("ingredients", new String[] {"FLTO", "GRBF", "CHED"});
+        tacoForm.put("_ingredients", "on");
+
+        orderForm = new LinkedHashMap<>();
+        orderForm.put("deliveryName", "Benchmark Customer");
+        orderForm.put("deliveryStreet", "1234 Culinary Blvd.");
+        orderForm.put("deliveryCity", "Chicago");
+        orderForm.put("deliveryState", "IL");
+        orderForm.put("deliveryZip", "60606");
+        orderForm.put("ccNumber", "4111111111111111");
+        orderForm.put("ccExpiration", "10/29");
+        orderForm.put("ccCVV", "123");
+    }
+
+    @Benchmark
+    public BindingResult bindTaco() {
+        WebDataBinder binder = binding.equals("form")
+                ? new FormDataBinder(new Taco(), "taco", tacoFormBinder)
+                : new ExtendedServletRequestDataBinder(new Taco(), "taco");
+        return bind(binder, tacoForm);
+    }
+
+    @Benchmark
+    public BindingResult bindOrder() {
+        WebDataBinder binder = binding.equals("form")
+                ? new FormDataBinder(new TacoOrder(), "tacoOrder", orderFormBinder)
+                : new ExtendedServletRequestDataBinder(new TacoOrder(), "tacoOrder");
+        return bind(binder, orderForm);
+    }
+
+    private BindingResult bind(WebDataBinder binder, Map<String, Object> form) {
+        binder.setConversionService(conversionService);
+        binder.bind(new MutablePropertyValues(form));
+        return binder.getBindingResult();
+    }
+
+}
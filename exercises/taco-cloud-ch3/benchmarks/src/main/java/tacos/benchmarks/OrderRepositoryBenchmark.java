@@ -0,0 +1,65 @@
+package tacos.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jdbc.core.JdbcAggregateOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tacos.TacoOrder;
+import tacos.data.OrderRepository;
+
+/**
+ * Persisting a new order against the embedded H2 database, through the stock
+ * Spring Data JDBC insert and through the batched insert.
+ *
+ * OrderRepository.save() now goes through insertBatched() for new orders, so
+ * the stock path is measured on JdbcAggregateOperations.insert(), in a
+ * transaction as SimpleJdbcRepository.save() runs it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderRepositoryBenchmark {
+
+    @Param({"1", "40"})
+    public int tacos;
+
+    private OrderRepository orderRepo;
+
+    private JdbcAggregateOperations aggregates;
+
+    private TransactionTemplate transactions;
+
+    @Setup
+    public void setUp(TacoCloudState app) {
+        orderRepo = app.bean(OrderRepository.class);
+        aggregates = app.bean(JdbcAggregateOperations.class);
+        transactions = new TransactionTemplate(app.bean(PlatformTransactionManager.class));
+    }
+
+    @Benchmark
+    public TacoOrder insert() {
+        return transactions.execute(status -> aggregates.insert(TacoCloudState.order(tacos)));
+    }
+
+    @Benchmark
+    public TacoOrder insertBatched() {
+        return orderRepo.insertBatched(TacoCloudState.order(tacos));
+    }
+
+}
@@ -0,0 +1,119 @@
+package tacos.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.session.StandardManager;
+import org.apache.catalina.session.StandardSession;
+
+import tacos.web.CookieSessionAttributeStore;
+import tacos.web.TacoOrderCodec;
+
+/**
+ * Server heap held for 10,000 designers with an in-progress order, for each
+ * {@code taco.session.store}:
+ *
+ * <ul>
+ *   <li>{@code http-session}: one Tomcat {@link StandardSession} per designer,
+ *       registered with a {@link StandardManager}, holding the order</li>
+ *   <li>{@code encoded-session}: the same sessions, holding the order as
+ *       binary-encoded bytes</li>
+ *   <li>{@code cookie}: nothing on the server; the order travels in a signed
+ *       cookie, whose size is reported instead</li>
+ * </ul>
+ *
+ * Also reports the encoded size of an order for each session codec (see
+ * {@link TacoOrderCodecBenchmark} for their speed).
+ *
+ * Not a JMH benchmark, since JMH measures time; run it with
+ * {@code mvn exec:exec@session-footprint}. Results go to
+ * {@code target/session-footprint.json}.
+ */
+public class SessionFootprint {
+
+    private static final int DESIGNERS = 10_000;
+    private static final int[] TACOS_PER_ORDER = {1, 3, 10};
+
+    public static void main(String[] args) throws Exception {
+        Path out = Path.of(args.length > 0 ? args[0] : "target/session-footprint.json");
+        TacoCloudState app = new TacoCloudState();
+        app.start();
+        List<String> results = new ArrayList<>();
+        try {
+            TacoOrderCodec binary = Codecs.byName("binary", app);
+            CookieSessionAttributeStore cookieStore = new CookieSessionAttributeStore(
+                    binary, "benchmark-secret".getBytes(StandardCharsets.UTF_8), Duration.ofHours(2));
+
+            for (int tacos : TACOS_PER_ORDER) {
+                long objects = sessionHeap(i -> TacoCloudState.order(tacos));
+                long encoded = sessionHeap(i -> binary.encode(TacoCloudState.order(tacos)));
+                int cookieBytes = cookieStore.encode(TacoCloudState.order(tacos)).length();
+                results.add(store("http-session", tacos, objects, 0));
+                results.add(store("encoded-session", tacos, encoded, 0));
+                results.add(store("cookie", tacos, 0, cookieBytes));
+                System.out.printf("%2d tacos/order: http-session %,d, encoded-session %,d, "
+                        + "cookie 0 bytes/designer (%,d byte cookie)%n",
+                        tacos, objects / DESIGNERS, encoded / DESIGNERS, cookieBytes);
+
+                for (String name : Codecs.NAMES) {
+                    int size = Codecs.byName(name, app).encode(TacoCloudState.order(tacos)).length;
+                    results.add(String.format(Locale.ROOT,
+                            "{\"codec\":\"%s\",\"tacosPerOrder\":%d,\"encodedBytes\":%d}",
+                            name, tacos, size));
+                    System.out.printf("%2d tacos/order: %-6s codec %,d bytes%n", tacos, name, size);
+                }
+            }
+        } finally {
+            app.stop();
+        }
+
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.writeString(out, "[\n  " + String.join(",\n  ", results) + "\n]\n");
+    }
+
+    private static String store(String mode, int tacos, long heapBytes, int cookieBytes) {
+        return String.format(Locale.ROOT,
+                "{\"mode\":\"%s\",\"tacosPerOrder\":%d,\"designers\":%d,"
+                + "\"heapBytes\":%d,\"heapBytesPerDesigner\":%d,\"cookieBytesPerRequest\":%d}",
+                mode, tacos, DESIGNERS, heapBytes, heapBytes / DESIGNERS, cookieBytes);
+    }
+
+    private static long sessionHeap(IntFunction<Object> attribute) {
+        StandardManager manager = new StandardManager();
+        manager.setContext(new StandardContext());
+
+        long before = usedHeap();
+        List<StandardSession> sessions = new ArrayList<>(DESIGNERS);
+        for (int i = 0; i < DESIGNERS; i++) {
+            StandardSession session = new StandardSession(manager);
+            session.setValid(true);
+            session.setCreationTime(System.currentTimeMillis());
+            session.setId(String.format("%032X", i));
+            session.setAttribute("tacoOrder", attribute.apply(i));
+            sessions.add(session);
+        }
+        long after = usedHeap();
+        if (manager.findSessions().length != sessions.size()) {
+            throw new IllegalStateException("Sessions weren't registered");
+        }
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+}
@@ -0,0 +1,63 @@
+package tacos.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tacos.TacoOrder;
+import tacos.web.CookieSessionAttributeStore;
+
+/**
+ * The per-request CPU cost of keeping the order in a cookie: encoding it on
+ * the way out and verifying and decoding it on the way in. See
+ * {@link SessionFootprint} for the heap side of the comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionStoreBenchmark {
+
+    @Param({"json", "binary"})
+    public String codecName;
+
+    @Param({"1", "10"})
+    public int tacos;
+
+    private CookieSessionAttributeStore store;
+    private TacoOrder order;
+    private String token;
+
+    @Setup
+    public void setUp(TacoCloudState app) {
+        store = new CookieSessionAttributeStore(Codecs.byName(codecName, app),
+                "benchmark-secret".getBytes(StandardCharsets.UTF_8), Duration.ofHours(2));
+        order = TacoCloudState.order(tacos);
+        token = store.encode(order);
+    }
+
+    @Benchmark
+    public String encodeCookie() {
+        return store.encode(order);
+    }
+
+    @Benchmark
+    public TacoOrder decodeCookie() {
+        return store.decode(token);
+    }
+
+}
@@ -0,0 +1,68 @@
+package tacos.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoCloudCh3Application;
+import tacos.TacoOrder;
+
+/**
+ * The application context, started once per fork against the embedded H2
+ * database, with no web server.
+ */
+@State(Scope.Benchmark)
+public class TacoCloudState {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(TacoCloudCh3Application.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("logging.level.root=warn")
+                .run();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * A valid order with the given number of three-ingredient tacos.
+     */
+    public static TacoOrder order(int tacoCount) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName("Benchmark Customer");
+        order.setDeliveryStreet("1234 Culinary Blvd.");
+        order.setDeliveryCity("Chicago");
+        order.setDeliveryState("IL");
+        order.setDeliveryZip("60606");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("10/29");
+        order.setCcCVV("123");
+        for (int i = 0; i < tacoCount; i++) {
+            Taco taco = new Taco();
+            taco.setName("Benchmark taco " + i);
+            taco.getIngredients().add(new IngredientRef("FLTO"));
+            taco.getIngredients().add(new IngredientRef("GRBF"));
+            taco.getIngredients().add(new IngredientRef("CHED"));
+            order.addTaco(taco);
+        }
+        return order;
+    }
+
+}
@@ -0,0 +1,60 @@
+package tacos.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tacos.TacoOrder;
+import tacos.web.TacoOrderCodec;
+
+/**
+ * Encoding and decoding a session-held {@link TacoOrder} with JDK
+ * serialization, JSON and the compact binary codec. Encoded sizes are
+ * reported by {@link SessionFootprint}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TacoOrderCodecBenchmark {
+
+    @Param({"jdk", "json", "binary"})
+    public String codecName;
+
+    @Param({"1", "10"})
+    public int tacos;
+
+    private TacoOrderCodec codec;
+    private TacoOrder order;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp(TacoCloudState app) {
+        codec = Codecs.byName(codecName, app);
+        order = TacoCloudState.order(tacos);
+        encoded = codec.encode(order);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(order);
+    }
+
+    @Benchmark
+    public TacoOrder decode() {
+        return codec.decode(encoded);
+    }
+
+}
@@ -0,0 +1,95 @@
+package tacos.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.validation.Validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.validation.ValidationMode;
+
+/**
+ * Bean Validation of a submitted {@link TacoOrder} and its taco, including
+ * the card number's Luhn check and the {@code ccExpiration} format, in each
+ * {@link ValidationMode}.
+ *
+ * {@code mix} cycles through 100 orders in the proportions a checkout form
+ * sees: 80 valid, 8 with blank fields (and a bad card behind them), 6 with a
+ * mistyped card number, 4 with a bad expiry date and 2 with a bad CVV.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"valid", "badCard", "badExpiration", "blank", "mix"})
+    public String input;
+
+    @Param({"FULL", "FAIL_FAST"})
+    public ValidationMode mode;
+
+    private Validator validator;
+    private Class<?>[] groups;
+    private TacoOrder[] orders;
+    private int next;
+
+    @Setup
+    public void setUp(TacoCloudState app) {
+        validator = app.bean(Validator.class);
+        groups = mode.groups();
+        if (input.equals("mix")) {
+            orders = new TacoOrder[100];
+            for (int i = 0; i < orders.length; i++) {
+                orders[i] = order(i < 80 ? "valid" : i < 88 ? "blank" : i < 94 ? "badCard"
+                        : i < 98 ? "badExpiration" : "badCvv");
+            }
+        } else {
+            orders = new TacoOrder[] {order(input)};
+        }
+    }
+
+    @Benchmark
+    public int validateOrder() {
+        TacoOrder order = orders[next];
+        next = next + 1 == orders.length ? 0 : next + 1;
+        int violations = validator.validate(order, groups).size();
+        for (Taco taco : order.getTacos()) {
+            violations += validator.validate(taco, groups).size();
+        }
+        return violations;
+    }
+
+    private static TacoOrder order(String input) {
+        TacoOrder order = TacoCloudState.order(1);
+        switch (input) {
+            case "badCard" -> order.setCcNumber("4111111111111112");
+            case "badExpiration" -> order.setCcExpiration("13/2029");
+            case "badCvv" -> order.setCcCVV("12a");
+            case "blank" -> {
+                order.setDeliveryName("");
+                order.setDeliveryStreet("");
+                order.setCcNumber("1234");
+                order.setCcExpiration("");
+                order.setCcCVV("abcd");
+            }
+            default -> { }
+        }
+        return order;
+    }
+
+}
@@ -0,0 +1,22 @@
+package tacos.reactive;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import tacos.reactive.data.IngredientSeeder;
+
+@SpringBootApplication
+public class TacoCloudReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(TacoCloudReactiveApplication.class, args);
+    }
+
+    @Bean
+    public ApplicationRunner dataLoader(IngredientSeeder seeder) {
+        return args -> seeder.seed().block();
+    }
+
+}
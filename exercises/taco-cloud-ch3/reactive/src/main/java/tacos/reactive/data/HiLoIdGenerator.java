@@ -0,0 +1,81 @@
+package tacos.reactive.data;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Reactive counterpart of the servlet application's HiLoIdGenerator: hands
+ * out ids from blocks reserved on a database sequence, one block per sequence
+ * read, with the block size taken from the sequence's increment.
+ *
+ * Only one sequence read is in flight at a time. Callers that find the block
+ * used up while it runs wait for it and then take their ids from the new
+ * block, rather than each reserving (and mostly wasting) a block of their own.
+ */
+public class HiLoIdGenerator {
+
+    private final DatabaseClient client;
+    private final String sequence;
+    private final Mono<Long> blockSize;
+
+    // ids in [next, limit) are reserved for this node and not handed out yet
+    private long next;
+    private long limit;
+
+    // The sequence read in flight, if any
+    private Mono<Void> refill;
+
+    public HiLoIdGenerator(DatabaseClient client, String sequence) {
+        this.client = client;
+        this.sequence = sequence;
+        this.blockSize = client.sql(
+                        "select increment from information_schema.sequences where upper(sequence_name) = upper(:name)")
+                .bind("name", sequence)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .cache();
+    }
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Mono<Void> pending;
+            synchronized (this) {
+                if (next < limit) {
+                    return Mono.just(next++);
+                }
+                if (refill == null) {
+                    refill = reserveBlock().cache();
+                }
+                pending = refill;
+            }
+            // The new block may be used up again by the time this caller
+            // gets to it, in which case it waits for the next one
+            return pending.then(nextId());
+        });
+    }
+
+    private Mono<Void> reserveBlock() {
+        return blockSize.flatMap(size -> client.sql("select next value for " + sequence)
+                        .map(row -> row.get(0, Long.class))
+                        .one()
+                        .doOnNext(first -> {
+                            synchronized (this) {
+                                next = first;
+                                limit = first + size;
+                                refill = null;
+                            }
+                        }))
+                .doFinally(signal -> {
+                    // Failed or cancelled; let the next caller try again
+                    if (signal != SignalType.ON_COMPLETE) {
+                        synchronized (this) {
+                            refill = null;
+                        }
+                    }
+                })
+                .then();
+    }
+
+}
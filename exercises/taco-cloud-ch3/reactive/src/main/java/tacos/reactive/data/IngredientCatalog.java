@@ -0,0 +1,53 @@
+package tacos.reactive.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+
+/**
+ * Reactive counterpart of the servlet application's ingredient catalog: the
+ * Ingredient table is read once, grouped by {@link Type}, and every later
+ * subscriber gets the cached result. This variant has no ingredient writes,
+ * so it is never refreshed.
+ */
+@Component
+public class IngredientCatalog {
+
+    private final Mono<Map<Type, List<Ingredient>>> byType;
+
+    public IngredientCatalog(IngredientRepository ingredientRepo) {
+        this.byType = ingredientRepo.findAll()
+                .collect(() -> emptyByType(), (map, ingredient) ->
+                        map.get(ingredient.getType()).add(ingredient))
+                .map(map -> {
+                    map.replaceAll((type, list) -> List.copyOf(list));
+                    return Collections.unmodifiableMap(map);
+                })
+                .cache();
+    }
+
+    /**
+     * All ingredients grouped by type. Every type has an entry, even if it has
+     * no ingredients. The map and lists are read-only.
+     */
+    public Mono<Map<Type, List<Ingredient>>> ingredientsByType() {
+        return byType;
+    }
+
+    private static Map<Type, List<Ingredient>> emptyByType() {
+        Map<Type, List<Ingredient>> map = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) {
+            map.put(type, new ArrayList<>());
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,81 @@
+package tacos.reactive.data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import reactor.core.publisher.Mono;
+import tacos.Ingredient;
+import tacos.data.IngredientSeed;
+
+/**
+ * Reactive counterpart of the servlet application's IngredientSeeder: reads
+ * the same seed file and, unless Seed_Version already holds its version,
+ * merges every row by id with one multi-row MERGE and records the version,
+ * in one transaction.
+ */
+@Component
+public class IngredientSeeder {
+
+    private static final String SEED_NAME = "ingredients";
+
+    private final DatabaseClient client;
+    private final TransactionalOperator transactions;
+    private final Resource seedFile;
+
+    public IngredientSeeder(DatabaseClient client, TransactionalOperator transactions,
+            @Value("${taco.catalog.seed:classpath:db/seed/ingredients.csv}") Resource seedFile) {
+        this.client = client;
+        this.transactions = transactions;
+        this.seedFile = seedFile;
+    }
+
+    /**
+     * Emits whether any rows were written.
+     */
+    public Mono<Boolean> seed() {
+        return Mono.fromCallable(() -> IngredientSeed.read(seedFile))
+                .onErrorMap(IOException.class, UncheckedIOException::new)
+                .flatMap(seed -> client.sql("select version from Seed_Version where name = :name")
+                        .bind("name", SEED_NAME)
+                        .map(row -> row.get(0, String.class))
+                        .all()
+                        .any(seed.version()::equals)
+                        .flatMap(applied -> applied ? Mono.just(false) : apply(seed))
+                        .as(transactions::transactional));
+    }
+
+    private Mono<Boolean> apply(IngredientSeed seed) {
+        List<Ingredient> ingredients = seed.ingredients();
+        StringBuilder sql = new StringBuilder("merge into Ingredient (id, name, type) key (id) values ");
+        Map<String, Object> params = new LinkedHashMap<>();
+        for (int n = 0; n < ingredients.size(); n++) {
+            Ingredient ingredient = ingredients.get(n);
+            sql.append(n == 0 ? "" : ", ")
+                    .append("(:id").append(n)
+                    .append(", :name").append(n)
+                    .append(", :type").append(n).append(')');
+            params.put("id" + n, ingredient.getId());
+            params.put("name" + n, ingredient.getName());
+            params.put("type" + n, ingredient.getType().name());
+        }
+        Mono<Void> merge = ingredients.isEmpty() ? Mono.empty()
+                : client.sql(sql.toString()).bindValues(params).then();
+        return merge
+                .then(client.sql("merge into Seed_Version (name, version, applied_at) key (name) "
+                                + "values (:name, :version, current_timestamp)")
+                        .bind("name", SEED_NAME)
+                        .bind("version", seed.version())
+                        .then())
+                .thenReturn(true);
+    }
+
+}
@@ -0,0 +1,34 @@
+package tacos.reactive.data;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tacos.TacoOrder;
+
+/**
+ * Repository fragment that reads and writes whole {@link TacoOrder}
+ * aggregates. Spring Data R2DBC doesn't map the tacos collection, so these
+ * replace the stock save and finders.
+ *
+ * Saving a new order takes the order's and tacos' ids from
+ * {@link OrderIdAllocator}, then writes the order, all of its tacos and all of
+ * its ingredient refs with one insert per table, in one transaction. Saving an
+ * order that has an id updates its row and replaces its tacos and ingredient
+ * refs, the way Spring Data JDBC updates an aggregate. Reading uses one query each for
+ * Taco_Order, Taco and Ingredient_Ref, like the servlet application's loader.
+ */
+public interface OrderAggregateRepository {
+
+    /**
+     * Inserts an order without an id with its tacos and ingredient refs, after
+     * assigning new ids to the order and its tacos. An order with an id is
+     * updated instead, and tacos added to it without an id get new ones; it
+     * fails with a {@code TransientDataAccessResourceException} if there is
+     * no such order.
+     */
+    <S extends TacoOrder> Mono<S> save(S order);
+
+    Mono<TacoOrder> findById(Long id);
+
+    Flux<TacoOrder> findAll();
+
+}
@@ -0,0 +1,233 @@
+package tacos.reactive.data;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+public class OrderAggregateRepositoryImpl implements OrderAggregateRepository {
+
+    private static final String INSERT_ORDER =
+            "insert into Taco_Order (id, delivery_Name, delivery_Street, delivery_City, "
+            + "delivery_State, delivery_Zip, cc_number, cc_expiration, cc_cvv, placed_at) "
+            + "values (:id, :name, :street, :city, :state, :zip, :ccNumber, :ccExpiration, :ccCvv, :placedAt)";
+
+    private static final String UPDATE_ORDER =
+            "update Taco_Order set delivery_Name = :name, delivery_Street = :street, "
+            + "delivery_City = :city, delivery_State = :state, delivery_Zip = :zip, "
+            + "cc_number = :ccNumber, cc_expiration = :ccExpiration, cc_cvv = :ccCvv, "
+            + "placed_at = :placedAt where id = :id";
+
+    private static final String DELETE_INGREDIENT_REFS =
+            "delete from Ingredient_Ref where taco in (select id from Taco where taco_order = :order)";
+
+    private static final String DELETE_TACOS =
+            "delete from Taco where taco_order = :order";
+
+    private static final String SELECT_ORDERS =
+            "select id, delivery_Name, delivery_Street, delivery_City, delivery_State, "
+            + "delivery_Zip, cc_number, cc_expiration, cc_cvv, placed_at from Taco_Order";
+
+    private static final String SELECT_TACOS =
+            "select id, name, created_at, taco_order from Taco";
+
+    private static final String SELECT_INGREDIENT_REFS =
+            "select r.ingredient, r.taco from Ingredient_Ref r";
+
+    private final DatabaseClient client;
+    private final TransactionalOperator transactions;
+    private final OrderIdAllocator ids;
+
+    public OrderAggregateRepositoryImpl(DatabaseClient client, TransactionalOperator transactions,
+                                        OrderIdAllocator ids) {
+        this.client = client;
+        this.transactions = transactions;
+        this.ids = ids;
+    }
+
+    @Override
+    public <S extends TacoOrder> Mono<S> save(S order) {
+        return order.getId() == null ? insert(order) : update(order);
+    }
+
+    private <S extends TacoOrder> Mono<S> insert(S order) {
+        // Deferred so the ids are bound only after they have been assigned
+        Mono<S> insert = Mono.defer(() -> bindOrder(client.sql(INSERT_ORDER), order)
+                .then()
+                .then(insertTacos(order))
+                .then(insertIngredientRefs(order.getTacos()))
+                .thenReturn(order));
+        return ids.assignIds(order).then(insert.as(transactions::transactional));
+    }
+
+    private <S extends TacoOrder> Mono<S> update(S order) {
+        Map<String, Object> params = Map.of("order", order.getId());
+        Mono<S> update = Mono.defer(() -> bindOrder(client.sql(UPDATE_ORDER), order)
+                .fetch().rowsUpdated()
+                .flatMap(rows -> rows == 0
+                        ? Mono.error(new TransientDataAccessResourceException(
+                                "No order with id " + order.getId() + " to update"))
+                        : Mono.empty())
+                .then(client.sql(DELETE_INGREDIENT_REFS).bindValues(params).then())
+                .then(client.sql(DELETE_TACOS).bindValues(params).then())
+                .then(ids.assignNewTacoIds(order))
+                .then(insertTacos(order))
+                .then(insertIngredientRefs(order.getTacos()))
+                .thenReturn(order));
+        return update.as(transactions::transactional);
+    }
+
+    private static GenericExecuteSpec bindOrder(GenericExecuteSpec spec, TacoOrder order) {
+        return spec.bind("id", order.getId())
+                .bind("name", order.getDeliveryName())
+                .bind("street", order.getDeliveryStreet())
+                .bind("city", order.getDeliveryCity())
+                .bind("state", order.getDeliveryState())
+                .bind("zip", order.getDeliveryZip())
+                .bind("ccNumber", order.getCcNumber())
+                .bind("ccExpiration", order.getCcExpiration())
+                .bind("ccCvv", order.getCcCVV())
+                .bind("placedAt", localDateTime(order.getPlacedAt()));
+    }
+
+    @Override
+    public Mono<TacoOrder> findById(Long id) {
+        Map<String, Object> params = Map.of("id", id);
+        return load(SELECT_ORDERS + " where id = :id",
+                SELECT_TACOS + " where taco_order = :id order by taco_order_key",
+                SELECT_INGREDIENT_REFS + " join Taco t on t.id = r.taco"
+                        + " where t.taco_order = :id order by r.taco, r.taco_key",
+                params)
+                .next();
+    }
+
+    @Override
+    public Flux<TacoOrder> findAll() {
+        return load(SELECT_ORDERS + " order by id",
+                SELECT_TACOS + " order by taco_order, taco_order_key",
+                SELECT_INGREDIENT_REFS + " order by r.taco, r.taco_key",
+                Map.of());
+    }
+
+    private Mono<Void> insertTacos(TacoOrder order) {
+        return Mono.defer(() -> {
+            List<Taco> tacos = order.getTacos();
+            if (tacos.isEmpty()) {
+                return Mono.empty();
+            }
+            StringBuilder sql = new StringBuilder(
+                    "insert into Taco (id, name, taco_order, taco_order_key, created_at) values ");
+            Map<String, Object> params = new LinkedHashMap<>();
+            for (int n = 0; n < tacos.size(); n++) {
+                Taco taco = tacos.get(n);
+                sql.append(n == 0 ? "" : ", ")
+                        .append("(:id").append(n)
+                        .append(", :name").append(n)
+                        .append(", :order, :key").append(n)
+                        .append(", :createdAt").append(n).append(')');
+                params.put("id" + n, taco.getId());
+                params.put("name" + n, taco.getName());
+                params.put("key" + n, n);
+                params.put("createdAt" + n, localDateTime(taco.getCreatedAt()));
+            }
+            params.put("order", order.getId());
+            return client.sql(sql.toString()).bindValues(params).then();
+        });
+    }
+
+    private Mono<Void> insertIngredientRefs(List<Taco> tacos) {
+        return Mono.defer(() -> {
+            StringBuilder sql = new StringBuilder("insert into Ingredient_Ref (ingredient, taco, taco_key) values ");
+            Map<String, Object> params = new LinkedHashMap<>();
+            for (Taco taco : tacos) {
+                List<IngredientRef> ingredients = taco.getIngredients();
+                for (int i = 0; i < ingredients.size(); i++) {
+                    int n = params.size() / 3;
+                    sql.append(n == 0 ? "" : ", ")
+                            .append("(:ingredient").append(n)
+                            .append(", :taco").append(n)
+                            .append(", :key").append(n).append(')');
+                    params.put("ingredient" + n, ingredients.get(i).getIngredient());
+                    params.put("taco" + n, taco.getId());
+                    params.put("key" + n, i);
+                }
+            }
+            if (params.isEmpty()) {
+                return Mono.empty();
+            }
+            return client.sql(sql.toString()).bindValues(params).then();
+        });
+    }
+
+    private Flux<TacoOrder> load(String ordersSql, String tacosSql, String refsSql,
+                                 Map<String, Object> params) {
+        Mono<Map<Long, TacoOrder>> orders = client.sql(ordersSql).bindValues(params)
+                .map(OrderAggregateRepositoryImpl::mapOrder)
+                .all()
+                .collect(LinkedHashMap::new, (map, order) -> map.put(order.getId(), order));
+        return orders.flatMapMany(byId -> {
+            if (byId.isEmpty()) {
+                return Flux.empty();
+            }
+            Map<Long, Taco> tacos = new LinkedHashMap<>();
+            return client.sql(tacosSql).bindValues(params)
+                    .map(row -> {
+                        Taco taco = new Taco();
+                        taco.setId(row.get("id", Long.class));
+                        taco.setName(row.get("name", String.class));
+                        taco.setCreatedAt(date(row.get("created_at", LocalDateTime.class)));
+                        byId.get(row.get("taco_order", Long.class)).addTaco(taco);
+                        return taco;
+                    })
+                    .all()
+                    .doOnNext(taco -> tacos.put(taco.getId(), taco))
+                    .thenMany(client.sql(refsSql).bindValues(params)
+                            .map(row -> {
+                                tacos.get(row.get("taco", Long.class)).getIngredients()
+                                        .add(new IngredientRef(row.get("ingredient", String.class)));
+                                return row;
+                            })
+                            .all())
+                    .thenMany(Flux.fromIterable(new ArrayList<>(byId.values())));
+        });
+    }
+
+    private static TacoOrder mapOrder(Readable row) {
+        TacoOrder order = new TacoOrder();
+        order.setId(row.get("id", Long.class));
+        order.setDeliveryName(row.get("delivery_Name", String.class));
+        order.setDeliveryStreet(row.get("delivery_Street", String.class));
+        order.setDeliveryCity(row.get("delivery_City", String.class));
+        order.setDeliveryState(row.get("delivery_State", String.class));
+        order.setDeliveryZip(row.get("delivery_Zip", String.class));
+        order.setCcNumber(row.get("cc_number", String.class));
+        order.setCcExpiration(row.get("cc_expiration", String.class));
+        order.setCcCVV(row.get("cc_cvv", String.class));
+        order.setPlacedAt(date(row.get("placed_at", LocalDateTime.class)));
+        return order;
+    }
+
+    private static LocalDateTime localDateTime(Date date) {
+        return new Timestamp(date.getTime()).toLocalDateTime();
+    }
+
+    private static Date date(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+
+}
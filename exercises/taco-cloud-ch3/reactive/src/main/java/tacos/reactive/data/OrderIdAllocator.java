@@ -0,0 +1,43 @@
+package tacos.reactive.data;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tacos.TacoOrder;
+
+/**
+ * Assigns ids to a new order and its tacos before they are inserted, from
+ * {@link HiLoIdGenerator}s on {@code Taco_Order_Id_Seq} and {@code Taco_Id_Seq}.
+ */
+@Component
+public class OrderIdAllocator {
+
+    private final HiLoIdGenerator orderIds;
+    private final HiLoIdGenerator tacoIds;
+
+    public OrderIdAllocator(DatabaseClient client) {
+        this.orderIds = new HiLoIdGenerator(client, "Taco_Order_Id_Seq");
+        this.tacoIds = new HiLoIdGenerator(client, "Taco_Id_Seq");
+    }
+
+    public Mono<Void> assignIds(TacoOrder order) {
+        return orderIds.nextId()
+                .doOnNext(order::setId)
+                .thenMany(Flux.fromIterable(order.getTacos())
+                        .concatMap(taco -> tacoIds.nextId().doOnNext(taco::setId)))
+                .then();
+    }
+
+    /**
+     * Gives new ids to the tacos of an existing order that don't have one yet.
+     */
+    public Mono<Void> assignNewTacoIds(TacoOrder order) {
+        return Flux.fromIterable(order.getTacos())
+                .filter(taco -> taco.getId() == null)
+                .concatMap(taco -> tacoIds.nextId().doOnNext(taco::setId))
+                .then();
+    }
+
+}
@@ -0,0 +1,23 @@
+package tacos.reactive.data;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tacos.TacoOrder;
+
+public interface OrderRepository
+        extends ReactiveCrudRepository<TacoOrder, Long>, OrderAggregateRepository {
+
+    // Redeclared so the OrderAggregateRepository methods win over ReactiveCrudRepository's
+
+    @Override
+    <S extends TacoOrder> Mono<S> save(S order);
+
+    @Override
+    Mono<TacoOrder> findById(Long id);
+
+    @Override
+    Flux<TacoOrder> findAll();
+
+}
@@ -0,0 +1,67 @@
+package tacos.reactive.web;
+
+import jakarta.validation.Valid;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.validation.Errors;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.SessionAttributes;
+
+import reactor.core.publisher.Mono;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.reactive.data.IngredientCatalog;
+
+@Controller
+@RequestMapping("/design")
+@SessionAttributes("tacoOrder")
+public class DesignTacoController {
+
+    private final IngredientCatalog ingredientCatalog;
+
+    public DesignTacoController(IngredientCatalog ingredientCatalog) {
+        this.ingredientCatalog = ingredientCatalog;
+    }
+
+    @ModelAttribute
+    public Mono<Void> addIngredientsToModel(Model model) {
+        return ingredientCatalog.ingredientsByType()
+                .doOnNext(byType -> byType.forEach((type, ingredients) ->
+                        model.addAttribute(type.toString().toLowerCase(), ingredients)))
+                .then();
+    }
+
+    @ModelAttribute(name = "tacoOrder")
+    public TacoOrder order() {
+        return new TacoOrder();
+    }
+
+    @ModelAttribute(name = "taco")
+    public Taco taco() {
+        return new Taco();
+    }
+
+    @GetMapping
+    public String showDesignForm() {
+        return "design";
+    }
+
+    @PostMapping
+    public String processTaco(
+            @Valid Taco taco, Errors errors,
+            @ModelAttribute TacoOrder tacoOrder) {
+
+        if (errors.hasErrors()) {
+            return "design";
+        }
+
+        tacoOrder.addTaco(taco);
+
+        return "redirect:/orders/current";
+    }
+
+}
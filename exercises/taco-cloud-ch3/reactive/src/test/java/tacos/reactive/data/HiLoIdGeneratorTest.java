@@ -0,0 +1,51 @@
+package tacos.reactive.data;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HiLoIdGeneratorTest {
+
+    @Test
+    public void callersWaitingForABlockShareOneSequenceRead() {
+        // A sequence with an increment of 50 that takes a while to answer,
+        // so every caller finds the first block still being read
+        AtomicLong sequence = new AtomicLong(1);
+        AtomicLong reads = new AtomicLong();
+        DatabaseClient client = mock(DatabaseClient.class, RETURNS_DEEP_STUBS);
+        when(client.sql(startsWith("select increment"))
+                .bind(anyString(), any()).map(any(Function.class)).one())
+                .thenReturn(Mono.just(50L));
+        when(client.sql(startsWith("select next value")).map(any(Function.class)).one())
+                .thenReturn(Mono.fromCallable(() -> {
+                    reads.incrementAndGet();
+                    return sequence.getAndAdd(50);
+                }).delayElement(Duration.ofMillis(50)));
+        HiLoIdGenerator ids = new HiLoIdGenerator(client, "Taco_Order_Id_Seq");
+
+        List<Long> allocated = Flux.range(0, 120)
+                .flatMap(i -> ids.nextId(), 120)
+                .collectList()
+                .block();
+
+        assertThat(allocated).hasSize(120).doesNotHaveDuplicates();
+        // 120 ids fit in three blocks of 50
+        assertThat(reads).hasValue(3);
+    }
+
+}
@@ -0,0 +1,97 @@
+package tacos.reactive.data;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import reactor.test.StepVerifier;
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///repository-test;DB_CLOSE_DELAY=-1")
+public class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Test
+    public void savedOrderLoadsWithTacosAndIngredientsInOrder() {
+        TacoOrder saved = orderRepo.save(order(3)).block();
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getTacos()).allSatisfy(taco -> assertThat(taco.getId()).isNotNull());
+
+        StepVerifier.create(orderRepo.findById(saved.getId()))
+                .assertNext(loaded -> {
+                    assertThat(loaded.getDeliveryName()).isEqualTo(saved.getDeliveryName());
+                    assertThat(loaded.getTacos()).isEqualTo(saved.getTacos());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(orderRepo.findAll()
+                        .filter(order -> order.getId().equals(saved.getId())))
+                .assertNext(loaded -> assertThat(loaded.getTacos()).isEqualTo(saved.getTacos()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void savingAnOrderWithAnIdUpdatesIt() {
+        TacoOrder saved = orderRepo.save(order(2)).block();
+        saved.setDeliveryName("Updated Reactor");
+        saved.getTacos().remove(0);
+        Taco added = new Taco();
+        added.setName("Added taco");
+        added.getIngredients().add(new IngredientRef("COTO"));
+        saved.addTaco(added);
+
+        orderRepo.save(saved).block();
+
+        assertThat(added.getId()).isNotNull();
+        StepVerifier.create(orderRepo.findById(saved.getId()))
+                .assertNext(loaded -> {
+                    assertThat(loaded.getDeliveryName()).isEqualTo("Updated Reactor");
+                    assertThat(loaded.getTacos()).isEqualTo(saved.getTacos());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void savingAnOrderWithAnUnknownIdFails() {
+        TacoOrder order = order(1);
+        order.setId(-1L);
+
+        StepVerifier.create(orderRepo.save(order))
+                .expectError(TransientDataAccessResourceException.class)
+                .verify();
+    }
+
+    @Test
+    public void unknownIdIsEmpty() {
+        StepVerifier.create(orderRepo.findById(-1L)).verifyComplete();
+    }
+
+    private static TacoOrder order(int tacoCount) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName("Reactor " + tacoCount);
+        order.setDeliveryStreet("1234 Test Lane");
+        order.setDeliveryCity("Testville");
+        order.setDeliveryState("CO");
+        order.setDeliveryZip("80123");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("10/29");
+        order.setCcCVV("123");
+        for (int i = 0; i < tacoCount; i++) {
+            Taco taco = new Taco();
+            taco.setName("Reactive taco " + i);
+            taco.getIngredients().add(new IngredientRef("FLTO"));
+            taco.getIngredients().add(new IngredientRef(i % 2 == 0 ? "GRBF" : "CARN"));
+            taco.getIngredients().add(new IngredientRef("SLSA"));
+            order.addTaco(taco);
+        }
+        return order;
+    }
+
+}
@@ -0,0 +1,90 @@
+package tacos.reactive.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import tacos.reactive.data.OrderRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+public class OrderFlowTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Test
+    public void designAndOrderFlowSavesOrder() {
+        String session = client.get().uri("/design")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertThat(body).contains("Flour Tortilla", "Sour Cream"))
+                .returnResult()
+                .getResponseCookies().getFirst("SESSION").getValue();
+
+        client.post().uri("/design")
+                .cookie("SESSION", session)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("name", "Reactive Taco")
+                        .with("ingredients", "FLTO")
+                        .with("ingredients", "GRBF")
+                        .with("ingredients", "CHED"))
+                .exchange()
+                .expectStatus().isSeeOther()
+                .expectHeader().location("/orders/current");
+
+        client.get().uri("/orders/current")
+                .cookie("SESSION", session)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertThat(body).contains("Reactive Taco"));
+
+        client.post().uri("/orders")
+                .cookie("SESSION", session)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("deliveryName", "Flux McFlux")
+                        .with("deliveryStreet", "1234 Test Lane")
+                        .with("deliveryCity", "Testville")
+                        .with("deliveryState", "CO")
+                        .with("deliveryZip", "80123")
+                        .with("ccNumber", "4111111111111111")
+                        .with("ccExpiration", "10/29")
+                        .with("ccCVV", "123"))
+                .exchange()
+                .expectStatus().isSeeOther()
+                .expectHeader().location("/");
+
+        assertThat(orderRepo.findAll()
+                        .filter(order -> "Flux McFlux".equals(order.getDeliveryName()))
+                        .collectList().block())
+                .singleElement()
+                .satisfies(order -> {
+                    assertThat(order.getTacos()).singleElement()
+                            .satisfies(taco -> assertThat(taco.getName()).isEqualTo("Reactive Taco"));
+                    assertThat(order.getTacos().get(0).getIngredients()).hasSize(3);
+                });
+    }
+
+    @Test
+    public void invalidTacoRedisplaysDesignForm() {
+        client.post().uri("/design")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("name", "Tac"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertThat(body).contains("Name must be at least 5 characters long"));
+    }
+
+}
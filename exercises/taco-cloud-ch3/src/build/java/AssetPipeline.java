@@ -0,0 +1,111 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+/**
+ * Build-time step for the static assets, run by Maven after resources are
+ * copied (see the asset-pipeline execution in pom.xml):
+ *
+ * <ul>
+ *   <li>hashes every file under {@code static/} and writes the MD5 of each
+ *       to {@code asset-manifest.properties}, which the application uses to
+ *       serve and link to {@code name-<md5>.ext} (see tacos.web.ManifestVersionStrategy)</li>
+ *   <li>writes {@code .gz} (level 9) and {@code .br} (quality 11) variants of
+ *       text assets next to the originals, keeping each only if it is smaller</li>
+ * </ul>
+ *
+ * Usage: {@code java -cp <brotli4j> AssetPipeline.java <target/classes>}
+ */
+public class AssetPipeline {
+
+    private static final Set<String> COMPRESSIBLE =
+            Set.of("css", "js", "mjs", "svg", "html", "json", "txt", "xml", "map");
+
+    public static void main(String[] args) throws Exception {
+        Path classes = Path.of(args[0]);
+        Path staticDir = classes.resolve("static");
+        if (!Files.isDirectory(staticDir)) {
+            return;
+        }
+        Brotli4jLoader.ensureAvailability();
+
+        List<Path> assets;
+        try (var files = Files.walk(staticDir)) {
+            assets = files.filter(Files::isRegularFile)
+                    .filter(file -> !file.toString().endsWith(".gz") && !file.toString().endsWith(".br"))
+                    .sorted()
+                    .toList();
+        }
+
+        TreeMap<String, String> manifest = new TreeMap<>();
+        long original = 0;
+        long compressed = 0;
+        for (Path asset : assets) {
+            byte[] content = Files.readAllBytes(asset);
+            String path = staticDir.relativize(asset).toString().replace('\\', '/');
+            manifest.put(path, md5(content));
+
+            if (COMPRESSIBLE.contains(extension(path))) {
+                original += content.length;
+                byte[] gzip = gzip(content);
+                byte[] brotli = Encoder.compress(content, new Encoder.Parameters().setQuality(11));
+                compressed += Math.min(content.length, Math.min(gzip.length, brotli.length));
+                writeIfSmaller(asset.resolveSibling(asset.getFileName() + ".gz"), gzip, content.length);
+                writeIfSmaller(asset.resolveSibling(asset.getFileName() + ".br"), brotli, content.length);
+            }
+        }
+
+        StringBuilder properties = new StringBuilder("# Generated by src/build/java/AssetPipeline.java\n");
+        manifest.forEach((path, hash) -> properties.append(path).append('=').append(hash).append('\n'));
+        Files.writeString(classes.resolve("asset-manifest.properties"), properties);
+
+        System.out.printf("[asset-pipeline] %d assets fingerprinted; text assets %,d -> %,d bytes precompressed%n",
+                manifest.size(), original, compressed);
+    }
+
+    private static String md5(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+    }
+
+    private static String extension(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? "" : path.substring(dot + 1);
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeIfSmaller(Path file, byte[] content, int originalLength) throws IOException {
+        if (content.length < originalLength) {
+            Files.write(file, content);
+        } else {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
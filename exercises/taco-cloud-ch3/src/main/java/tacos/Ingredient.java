@@ -1,25 +1,50 @@
 package tacos;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Table;
 
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+
+/**
+ * Immutable, so the instances in {@link tacos.data.IngredientCatalog} can be
+ * shared by every request. Each one carries the {@link IngredientRef} that
+ * tacos use to point at it, made once along with the ingredient.
+ */
+@Value
 @Table
-@AllArgsConstructor
-@NoArgsConstructor(access=AccessLevel.PRIVATE, force=true)
 public class Ingredient implements Persistable<String> {
 
     @Id
-    private String id;
+    String id;
+
+    String name;
+    Type type;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    IngredientRef ref;
+
+    public Ingredient(String id, String name, Type type) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.ref = new IngredientRef(id);
+    }
 
-    private String name;
-    private Type type;
+    /**
+     * The shared ref to this ingredient.
+     */
+    public IngredientRef toRef() {
+        return ref;
+    }
 
     @Override
     public boolean isNew() {
@@ -30,4 +55,4 @@ public class Ingredient implements Persistable<String> {
         WRAP, PROTEIN, VEGGIES, CHEESE, SAUCE
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package tacos;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import tacos.data.OrderExporter;
+import tacos.data.OrderExporter.Format;
+
+/**
+ * Exports every order to a file and lets the application exit, for the
+ * nightly finance dump:
+ *
+ * <pre>
+ * java -jar target/taco-cloud-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=export \
+ *     --taco.export.file=orders.ndjson.gz
+ * </pre>
+ *
+ * The format comes from {@code taco.export.format}, or else from the file name
+ * ({@code .csv} or {@code .csv.gz} for CSV, NDJSON otherwise). Names ending in
+ * {@code .gz} are gzipped.
+ */
+@Slf4j
+@Component
+@Profile("export")
+public class OrderExportRunner implements CommandLineRunner {
+
+    private final OrderExporter exporter;
+    private final Path file;
+    private final String format;
+
+    public OrderExportRunner(OrderExporter exporter,
+            @Value("${taco.export.file}") Path file,
+            @Value("${taco.export.format:}") String format) {
+        this.exporter = exporter;
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        String name = file.getFileName().toString();
+        boolean gzip = name.endsWith(".gz");
+        Format exportFormat = !format.isEmpty() ? Format.of(format)
+                : name.endsWith(".csv") || name.endsWith(".csv.gz") ? Format.CSV
+                : Format.NDJSON;
+
+        long start = System.nanoTime();
+        long orders;
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024)
+                : new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+            orders = exporter.export(exportFormat, out);
+        }
+        log.info("Exported {} orders as {} to {} in {} ms", orders, exportFormat, file,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+}
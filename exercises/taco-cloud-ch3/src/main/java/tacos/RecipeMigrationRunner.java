@@ -0,0 +1,41 @@
+package tacos;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import tacos.data.RecipeMigrationReport;
+import tacos.data.TacoRecipeMigrator;
+
+/**
+ * Moves the tacos stored as Ingredient_Ref rows over to shared recipes, logs
+ * what it saved and lets the application exit. Run it before switching a node
+ * to {@code taco.tacos.ingredient-storage=recipe} or at any time after:
+ *
+ * <pre>
+ * java -jar target/taco-cloud-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=migrate-recipes
+ * </pre>
+ */
+@Slf4j
+@Component
+@Profile("migrate-recipes")
+public class RecipeMigrationRunner implements CommandLineRunner {
+
+    private final TacoRecipeMigrator migrator;
+
+    public RecipeMigrationRunner(TacoRecipeMigrator migrator) {
+        this.migrator = migrator;
+    }
+
+    @Override
+    public void run(String... args) {
+        long start = System.nanoTime();
+        RecipeMigrationReport report = migrator.migrate();
+        log.info("Moved {} tacos to {} new recipes in {} ms: {} Ingredient_Ref rows removed, "
+                        + "{} bytes before, {} after",
+                report.tacos(), report.recipesCreated(), (System.nanoTime() - start) / 1_000_000,
+                report.ingredientRefsRemoved(), report.bytesBefore(), report.bytesAfter());
+    }
+
+}
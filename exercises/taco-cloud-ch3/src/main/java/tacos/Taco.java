@@ -1,16 +1,19 @@
 package tacos;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Table;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import tacos.validation.ValidationCost;
 
 @Data
 @Table
@@ -19,22 +22,26 @@ import lombok.EqualsAndHashCode;
 // equal). Need to figure out a better way than this, but excluding this property
 // for now.
 @EqualsAndHashCode(exclude = "createdAt")
-public class Taco {
+public class Taco implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     @Id
     private Long id;
 
     private Date createdAt = new Date();
 
-    @NotNull
-    @Size(min=5, message="Name must be at least 5 characters long")
+    @NotNull(groups={Default.class, ValidationCost.Presence.class})
+    @Size(min=5, message="Name must be at least 5 characters long",
+            groups={Default.class, ValidationCost.Presence.class})
     private String name;
 
-    @Size(min=1, message="You must choose at least 1 ingredient")
+    @Size(min=1, message="You must choose at least 1 ingredient",
+            groups={Default.class, ValidationCost.Presence.class})
     private List<IngredientRef> ingredients = new ArrayList<>();
 
-    public void addIngredient(Ingredient taco) {
-        this.ingredients.add(new IngredientRef(taco.getId()));
+    public void addIngredient(Ingredient ingredient) {
+        this.ingredients.add(ingredient.toRef());
     }
 
 }
\ No newline at end of file
@@ -4,9 +4,9 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
 
-import tacos.Ingredient.Type;
-import tacos.data.IngredientRepository;
+import tacos.data.IngredientSeeder;
 
 @SpringBootApplication
 public class TacoCloudCh3Application {
@@ -16,20 +16,9 @@ public class TacoCloudCh3Application {
     }
 
     @Bean
-    public CommandLineRunner dataLoader(IngredientRepository repo) {
-        return args -> {
-            repo.deleteAll(); // TODO: Quick hack to avoid tests from stepping on each other with constraint violations
-            repo.save(new Ingredient("FLTO", "Flour Tortilla", Type.WRAP));
-            repo.save(new Ingredient("COTO", "Corn Tortilla", Type.WRAP));
-            repo.save(new Ingredient("GRBF", "Ground Beef", Type.PROTEIN));
-            repo.save(new Ingredient("CARN", "Carnitas", Type.PROTEIN));
-            repo.save(new Ingredient("TMTO", "Diced Tomatoes", Type.VEGGIES));
-            repo.save(new Ingredient("LETC", "Lettuce", Type.VEGGIES));
-            repo.save(new Ingredient("CHED", "Cheddar", Type.CHEESE));
-            repo.save(new Ingredient("JACK", "Monterrey Jack", Type.CHEESE));
-            repo.save(new Ingredient("SLSA", "Salsa", Type.SAUCE));
-            repo.save(new Ingredient("SRCR", "Sour Cream", Type.SAUCE));
-        };
+    @Profile("!export")
+    public CommandLineRunner dataLoader(IngredientSeeder seeder) {
+        return args -> seeder.seed();
     }
 
-}
\ No newline at end of file
+}
@@ -6,13 +6,15 @@ import java.util.List;
 
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
+import jakarta.validation.groups.Default;
 
-import org.hibernate.validator.constraints.CreditCardNumber;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Table;
 
 import lombok.Data;
+import tacos.validation.CardExpiration;
+import tacos.validation.CardNumber;
+import tacos.validation.ValidationCost;
 
 @Data
 @Table
@@ -25,29 +27,36 @@ public class TacoOrder implements Serializable {
 
     private Date placedAt = new Date();
 
-    @NotBlank(message="Delivery name is required")
+    @NotBlank(message="Delivery name is required",
+            groups={Default.class, ValidationCost.Presence.class})
     private String deliveryName;
 
-    @NotBlank(message="Street is required")
+    @NotBlank(message="Street is required",
+            groups={Default.class, ValidationCost.Presence.class})
     private String deliveryStreet;
 
-    @NotBlank(message="City is required")
+    @NotBlank(message="City is required",
+            groups={Default.class, ValidationCost.Presence.class})
     private String deliveryCity;
 
-    @NotBlank(message="State is required")
+    @NotBlank(message="State is required",
+            groups={Default.class, ValidationCost.Presence.class})
     private String deliveryState;
 
-    @NotBlank(message="Zip code is required")
+    @NotBlank(message="Zip code is required",
+            groups={Default.class, ValidationCost.Presence.class})
     private String deliveryZip;
 
-    @CreditCardNumber(message="Not a valid credit card number")
+    @CardNumber(message="Not a valid credit card number",
+            groups={Default.class, ValidationCost.Checksum.class})
     private String ccNumber;
 
-    @Pattern(regexp="^(0[1-9]|1[0-2])([\\/])([2-9][0-9])$",
-            message="Must be formatted MM/YY")
+    @CardExpiration(message="Must be formatted MM/YY",
+            groups={Default.class, ValidationCost.Format.class})
     private String ccExpiration;
 
-    @Digits(integer=3, fraction=0, message="Invalid CVV")
+    @Digits(integer=3, fraction=0, message="Invalid CVV",
+            groups={Default.class, ValidationCost.Format.class})
     private String ccCVV;
 
     private List<Taco> tacos = new ArrayList<>();
@@ -0,0 +1,59 @@
+package tacos.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Hands out ids from blocks reserved on a database sequence.
+ *
+ * Each value the sequence returns is the first id of a block as large as the
+ * sequence's increment, which is read from the database so it can't drift
+ * from the migration that created the sequence. Ids within a block are handed
+ * out from memory; the sequence is only read again once the block is used up.
+ *
+ * Every node reserves its own blocks, so nodes never hand out the same id. Ids
+ * left in a block when a node stops are skipped, leaving gaps.
+ */
+public class HiLoIdGenerator {
+
+    private final JdbcTemplate jdbc;
+    private final String sequence;
+    private final int blockSize;
+    private final AtomicLong blocksReserved = new AtomicLong();
+
+    // ids in [next, limit) are reserved for this node and not handed out yet
+    private long next;
+    private long limit;
+
+    public HiLoIdGenerator(JdbcTemplate jdbc, String sequence) {
+        this.jdbc = jdbc;
+        this.sequence = sequence;
+        this.blockSize = jdbc.queryForObject(
+                "select increment from information_schema.sequences where upper(sequence_name) = upper(?)",
+                Integer.class, sequence);
+    }
+
+    public synchronized long nextId() {
+        if (next == limit) {
+            // Sequences aren't transactional, so the block stays reserved even
+            // if the caller's transaction rolls back
+            next = jdbc.queryForObject("select next value for " + sequence, Long.class);
+            limit = next + blockSize;
+            blocksReserved.incrementAndGet();
+        }
+        return next++;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Number of times the sequence has been read, one per block.
+     */
+    public long getBlocksReserved() {
+        return blocksReserved.get();
+    }
+
+}
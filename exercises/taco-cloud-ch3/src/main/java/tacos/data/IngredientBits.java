@@ -0,0 +1,196 @@
+package tacos.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tacos.IngredientRef;
+
+/**
+ * Maps each ingredient id to a fixed bit position, so that a taco's
+ * ingredients fit in one Taco.ingredient_mask column instead of one
+ * Ingredient_Ref row each.
+ *
+ * Positions live in Ingredient_Bit. {@link #assign()} gives the next free
+ * position to every ingredient that has none, in its own transaction, so the
+ * order path only ever reads them. It runs at startup, after seeding and
+ * after every change through {@link IngredientRepository}. Positions are never
+ * reused, so an ingredient that was deleted keeps its bit and old masks still
+ * decode.
+ *
+ * A mask has room for bits 0 to 63. {@link #encode(List)} returns null for a
+ * taco it can't represent: one with an ingredient at bit 64 or above, one
+ * with an id that has no bit (yet), and one with the same ingredient twice.
+ * Those tacos are written as Ingredient_Ref rows. A mask also doesn't keep the
+ * order ingredients were added in; {@link #decode(long)} lists them by bit.
+ */
+@Component
+public class IngredientBits {
+
+    private static final String SELECT_BITS =
+            "select b.ingredient, b.bit, i.id is not null live "
+            + "from Ingredient_Bit b left join Ingredient i on i.id = b.ingredient";
+
+    private static final String ASSIGN_MISSING =
+            "insert into Ingredient_Bit (ingredient, bit) "
+            + "select i.id, b.top + row_number() over (order by i.id) from Ingredient i "
+            + "cross join (select coalesce(max(bit), -1) top from Ingredient_Bit) b "
+            + "where not exists (select 1 from Ingredient_Bit x where x.ingredient = i.id)";
+
+    private static final int ASSIGN_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate newTransaction;
+    private final IngredientStorage storage;
+    private final IngredientCatalog catalog;
+
+    // null until loaded, and again after every assign()
+    private volatile Snapshot snapshot;
+
+    public IngredientBits(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+            @Value("${taco.tacos.ingredient-storage:rows}") IngredientStorage storage,
+            IngredientCatalog catalog) {
+        this.jdbc = jdbc;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.storage = storage;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Whether new tacos should be written as masks.
+     */
+    public boolean enabled() {
+        return storage == IngredientStorage.BITMASK;
+    }
+
+    /**
+     * The mask for {@code ingredients}, or null if they can't be written as one.
+     */
+    public Long encode(List<IngredientRef> ingredients) {
+        Map<String, Integer> bits = snapshot().bits();
+        long mask = 0;
+        for (IngredientRef ref : ingredients) {
+            Integer bit = bits.get(ref.getIngredient());
+            if (bit == null || bit >= Long.SIZE) {
+                return null;
+            }
+            long flag = 1L << bit;
+            if ((mask & flag) != 0) {
+                // The mask can't count, so duplicates need rows
+                return null;
+            }
+            mask |= flag;
+        }
+        return mask;
+    }
+
+    /**
+     * The ingredients in {@code mask}, lowest bit first. The list is new and
+     * may be changed; the refs in it are shared.
+     */
+    public List<IngredientRef> decode(long mask) {
+        Snapshot current = snapshot();
+        if (Long.numberOfLeadingZeros(mask) < Long.SIZE - current.refs().length) {
+            // Assigned since the snapshot was loaded, maybe on another node
+            current = load();
+        }
+        List<IngredientRef> ingredients = new ArrayList<>(Long.bitCount(mask));
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            int bit = Long.numberOfTrailingZeros(rest);
+            IngredientRef ref = bit < current.refs().length ? current.refs()[bit] : null;
+            if (ref == null) {
+                throw new IllegalStateException("No ingredient has bit " + bit);
+            }
+            ingredients.add(ref);
+        }
+        return ingredients;
+    }
+
+    /**
+     * Gives a bit to every ingredient that has none. Inside a transaction it
+     * waits until that transaction commits, so new ingredients are visible.
+     */
+    public void assign() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    assignNow();
+                }
+            });
+        } else {
+            assignNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void assignOnStartup() {
+        assign();
+    }
+
+    private void assignNow() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                newTransaction.executeWithoutResult(status -> jdbc.update(ASSIGN_MISSING));
+                break;
+            } catch (DuplicateKeyException e) {
+                // Another node assigned the same bits first
+                if (attempt == ASSIGN_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * Drops the loaded positions; the next lookup reads the table again.
+     */
+    void refresh() {
+        snapshot = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    private Snapshot load() {
+        Map<String, Integer> bits = new HashMap<>();
+        IngredientRef[] refs = new IngredientRef[Long.SIZE];
+        int width = 0;
+        for (Map<String, Object> row : jdbc.queryForList(SELECT_BITS)) {
+            String ingredient = (String) row.get("ingredient");
+            int bit = ((Number) row.get("bit")).intValue();
+            if (Boolean.TRUE.equals(row.get("live"))) {
+                bits.put(ingredient, bit);
+            }
+            if (bit < Long.SIZE) {
+                refs[bit] = catalog.ref(ingredient);
+                width = Math.max(width, bit + 1);
+            }
+        }
+        Snapshot loaded = new Snapshot(Map.copyOf(bits), Arrays.copyOf(refs, width));
+        snapshot = loaded;
+        return loaded;
+    }
+
+    private record Snapshot(Map<String, Integer> bits, IngredientRef[] refs) {
+    }
+
+}
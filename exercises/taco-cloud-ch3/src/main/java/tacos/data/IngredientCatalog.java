@@ -0,0 +1,168 @@
+package tacos.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import tacos.Ingredient;
+import tacos.IngredientRef;
+import tacos.Ingredient.Type;
+
+/**
+ * In-memory view of the whole Ingredient table.
+ *
+ * The table is loaded once into an immutable snapshot, keyed both by
+ * ingredient id and by {@link Type}, and every lookup after that is served
+ * from memory. Writes through {@link IngredientRepository} call
+ * {@link #refresh()} (see {@link IngredientCatalogConfig}), so the next lookup
+ * builds a new snapshot and swaps it in.
+ *
+ * The snapshot is also the flyweight registry for ingredients: ingredients
+ * are immutable, and {@link #ref(String)} hands out the {@link IngredientRef}
+ * each one carries, so every request shares the same instances until the
+ * next refresh.
+ */
+@Component
+public class IngredientCatalog {
+
+    private final IngredientRepository ingredientRepo;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // null until loaded, and again after every refresh()
+    private volatile Snapshot snapshot;
+
+    private volatile long lastModified = System.currentTimeMillis();
+
+    public IngredientCatalog(IngredientRepository ingredientRepo) {
+        this.ingredientRepo = ingredientRepo;
+    }
+
+    /**
+     * Looks up an ingredient by id. Counts as a hit when answered from the
+     * loaded snapshot (found or not) and as a miss when the table had to be read.
+     */
+    public Optional<Ingredient> findById(String id) {
+        return Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    /**
+     * The shared ref to ingredient {@code id}: the one carried by the catalog's
+     * {@link Ingredient}, so binding a form, loading an order and rendering it
+     * all hand out the same instances. Ids the catalog doesn't know, and every
+     * id while no snapshot is loaded, get a new ref; this never reads the
+     * table, so it adds no statements to the queries that call it.
+     */
+    public IngredientRef ref(String id) {
+        Snapshot current = snapshot;
+        Ingredient ingredient = current != null ? current.byId().get(id) : null;
+        return ingredient != null ? ingredient.toRef() : new IngredientRef(id);
+    }
+
+    /**
+     * All ingredients grouped by type, in table order. Every type has an
+     * entry, even if it has no ingredients. The map and lists are read-only.
+     */
+    public Map<Type, List<Ingredient>> ingredientsByType() {
+        return snapshot().byType();
+    }
+
+    /**
+     * All ingredient ids in sorted order. The same list instance is returned
+     * until the catalog is refreshed, so callers may cache anything derived
+     * from it by identity.
+     */
+    public List<String> ingredientIds() {
+        return snapshot().sortedIds();
+    }
+
+    /**
+     * Drops the loaded snapshot; the next lookup reads the table again.
+     */
+    public void refresh() {
+        lastModified = System.currentTimeMillis();
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * Number of refreshes since startup. It changes whenever the Ingredient
+     * table may have changed, and reading it never touches the database.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Time of the last refresh (or of startup), in epoch millis.
+     */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            hits.incrementAndGet();
+            return current;
+        }
+        misses.incrementAndGet();
+        return load();
+    }
+
+    private synchronized Snapshot load() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long loadedVersion = version.get();
+        Snapshot loaded = Snapshot.of(ingredientRepo.findAll());
+        // Don't publish a snapshot that a concurrent write has already made stale
+        if (version.get() == loadedVersion) {
+            snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    private record Snapshot(
+            Map<String, Ingredient> byId,
+            Map<Type, List<Ingredient>> byType,
+            List<String> sortedIds) {
+
+        static Snapshot of(Iterable<Ingredient> ingredients) {
+            Map<String, Ingredient> byId = new HashMap<>();
+            Map<Type, List<Ingredient>> byType = new EnumMap<>(Type.class);
+            for (Type type : Type.values()) {
+                byType.put(type, new ArrayList<>());
+            }
+            for (Ingredient ingredient : ingredients) {
+                byId.put(ingredient.getId(), ingredient);
+                byType.get(ingredient.getType()).add(ingredient);
+            }
+            byType.replaceAll((type, list) -> List.copyOf(list));
+            return new Snapshot(
+                    Collections.unmodifiableMap(byId),
+                    Collections.unmodifiableMap(byType),
+                    byId.keySet().stream().sorted().toList());
+        }
+
+    }
+
+}
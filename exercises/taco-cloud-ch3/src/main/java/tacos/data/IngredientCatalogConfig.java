@@ -0,0 +1,91 @@
+package tacos.data;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Keeps {@link IngredientCatalog} and {@link IngredientBits} in step with
+ * {@link IngredientRepository}.
+ *
+ * Adds an interceptor to the repository proxy that refreshes the catalog and
+ * assigns bits to new ingredients after every save* and delete* call, once
+ * the transaction commits. Spring Data JDBC doesn't publish events for
+ * deleteAll(), so listening for relational events alone isn't enough.
+ *
+ * Also publishes the catalog's hit and miss counts as
+ * {@code taco.ingredient.catalog.lookups}.
+ */
+@Configuration
+public class IngredientCatalogConfig {
+
+    @Bean
+    public static BeanPostProcessor ingredientCatalogRefresher(
+            ObjectProvider<IngredientCatalog> catalog, ObjectProvider<IngredientBits> bits) {
+        MethodInterceptor refresher = invocation -> {
+            String method = invocation.getMethod().getName();
+            try {
+                return invocation.proceed();
+            } finally {
+                if (method.startsWith("save") || method.startsWith("delete")) {
+                    catalog.ifAvailable(IngredientCatalogConfig::refreshAfterCommit);
+                    bits.ifAvailable(IngredientBits::assign);
+                }
+            }
+        };
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean
+                        && IngredientRepository.class.equals(factoryBean.getObjectType())) {
+                    factoryBean.addRepositoryFactoryCustomizer(
+                            factory -> factory.addRepositoryProxyPostProcessor(
+                                    (proxyFactory, info) -> proxyFactory.addAdvice(refresher)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Refreshes the catalog once the caller's transaction commits, as
+     * {@link IngredientBits#assign()} does, so a snapshot taken before the
+     * change is visible isn't published under a new ETag.
+     */
+    private static void refreshAfterCommit(IngredientCatalog catalog) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    catalog.refresh();
+                }
+            });
+        } else {
+            catalog.refresh();
+        }
+    }
+
+    @Bean
+    public MeterBinder ingredientCatalogMetrics(IngredientCatalog catalog) {
+        return registry -> {
+            FunctionCounter.builder("taco.ingredient.catalog.lookups",
+                            catalog, IngredientCatalog::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("taco.ingredient.catalog.lookups",
+                            catalog, IngredientCatalog::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+}
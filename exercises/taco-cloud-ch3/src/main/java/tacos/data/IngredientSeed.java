@@ -0,0 +1,68 @@
+package tacos.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.core.io.Resource;
+
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+
+/**
+ * The contents of an ingredient seed file, and its version: the SHA-256 of
+ * the file's bytes, so any edit to the file is a new version.
+ *
+ * The file is CSV with an {@code id,name,type} header. Blank lines and lines
+ * starting with {@code #} are skipped; names can't contain commas.
+ */
+public record IngredientSeed(String version, List<Ingredient> ingredients) {
+
+    private static final String HEADER = "id,name,type";
+
+    public static IngredientSeed read(Resource resource) throws IOException {
+        byte[] bytes;
+        try (InputStream in = resource.getInputStream()) {
+            bytes = in.readAllBytes();
+        }
+        List<Ingredient> ingredients = new ArrayList<>();
+        boolean header = false;
+        String[] lines = new String(bytes, StandardCharsets.UTF_8).split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (!header) {
+                if (!line.equals(HEADER)) {
+                    throw new IllegalArgumentException(
+                            resource.getDescription() + ": expected header '" + HEADER + "'");
+                }
+                header = true;
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length != 3) {
+                throw new IllegalArgumentException(
+                        resource.getDescription() + " line " + (i + 1) + ": expected 3 fields");
+            }
+            ingredients.add(new Ingredient(fields[0].strip(), fields[1].strip(),
+                    Type.valueOf(fields[2].strip())));
+        }
+        return new IngredientSeed(sha256(bytes), List.copyOf(ingredients));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
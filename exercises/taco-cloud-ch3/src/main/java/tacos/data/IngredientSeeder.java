@@ -0,0 +1,90 @@
+package tacos.data;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import tacos.Ingredient;
+
+/**
+ * Brings the Ingredient table up to date with the seed file at
+ * {@code taco.catalog.seed} (see {@link IngredientSeed}).
+ *
+ * If Seed_Version already holds the file's version, that one lookup is all
+ * the database work. Otherwise every row is merged by id in one JDBC batch
+ * and the new version recorded, in one transaction. Then the
+ * {@link IngredientCatalog} is refreshed and new ingredients get bit positions
+ * from {@link IngredientBits}. Merging never deletes, so it's safe on a
+ * populated database and when several nodes start at once.
+ */
+@Slf4j
+@Component
+public class IngredientSeeder {
+
+    static final String SEED_NAME = "ingredients";
+
+    private static final String SELECT_VERSION =
+            "select version from Seed_Version where name = ?";
+
+    private static final String MERGE_INGREDIENT =
+            "merge into Ingredient (id, name, type) key (id) values (?, ?, ?)";
+
+    private static final String MERGE_VERSION =
+            "merge into Seed_Version (name, version, applied_at) key (name) "
+            + "values (?, ?, current_timestamp)";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final IngredientCatalog catalog;
+    private final IngredientBits bits;
+    private final Resource seedFile;
+
+    public IngredientSeeder(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+            IngredientCatalog catalog, IngredientBits bits,
+            @Value("${taco.catalog.seed:classpath:db/seed/ingredients.csv}") Resource seedFile) {
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.catalog = catalog;
+        this.bits = bits;
+        this.seedFile = seedFile;
+    }
+
+    /**
+     * Applies the seed file unless its version is already applied.
+     *
+     * @return whether any rows were written
+     */
+    public boolean seed() throws IOException {
+        return seed(IngredientSeed.read(seedFile));
+    }
+
+    boolean seed(IngredientSeed seed) {
+        Boolean applied = transactions.execute(status -> {
+            List<String> current = jdbc.queryForList(SELECT_VERSION, String.class, SEED_NAME);
+            if (current.contains(seed.version())) {
+                return false;
+            }
+            jdbc.batchUpdate(MERGE_INGREDIENT, seed.ingredients().stream()
+                    .map(i -> new Object[] {i.getId(), i.getName(), i.getType().name()})
+                    .toList());
+            jdbc.update(MERGE_VERSION, SEED_NAME, seed.version());
+            return true;
+        });
+        if (Boolean.TRUE.equals(applied)) {
+            catalog.refresh();
+            bits.assign();
+            log.info("Seeded {} ingredients, version {}", seed.ingredients().size(), seed.version());
+            return true;
+        }
+        log.debug("Ingredient seed version {} already applied", seed.version());
+        return false;
+    }
+
+}
@@ -0,0 +1,29 @@
+package tacos.data;
+
+/**
+ * How the ingredients of new tacos are written, from
+ * {@code taco.tacos.ingredient-storage}. Tacos are read back the same way
+ * whichever format they were written in, so the setting can be changed at
+ * any time.
+ */
+public enum IngredientStorage {
+
+    /**
+     * One Ingredient_Ref row per ingredient. The default.
+     */
+    ROWS,
+
+    /**
+     * One Taco.ingredient_mask column per taco (see {@link IngredientBits}).
+     * Tacos that can't be written as a mask still get Ingredient_Ref rows.
+     */
+    BITMASK,
+
+    /**
+     * One Taco.recipe reference per taco to a row shared by every taco with
+     * the same ingredients (see {@link TacoRecipes}). Tacos with an ingredient
+     * missing from the catalog still get Ingredient_Ref rows.
+     */
+    RECIPE
+
+}
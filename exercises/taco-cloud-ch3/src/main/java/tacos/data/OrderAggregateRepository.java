@@ -0,0 +1,39 @@
+package tacos.data;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import tacos.TacoOrder;
+
+/**
+ * Repository fragment that replaces the stock {@link TacoOrder} finders.
+ *
+ * Spring Data JDBC loads an order with one query for Taco_Order, one per order
+ * for its tacos and one per taco for its ingredient refs. These finders read
+ * each of the three tables once, whatever the number of orders and tacos, and
+ * put the aggregates together in memory. Tacos stored with an ingredient mask
+ * (see {@link IngredientBits}) are decoded from their Taco row. Tacos stored
+ * with a recipe (see {@link TacoRecipes}) take its ingredients from memory, or
+ * else from one Taco_Recipe query. Ingredient_Ref is only read when some taco
+ * loaded has neither. Id lists longer than
+ * {@link OrderAggregateRepositoryImpl#MAX_IN_LIST} are read in chunks of that size.
+ */
+public interface OrderAggregateRepository {
+
+    Optional<TacoOrder> findById(Long id);
+
+    Iterable<TacoOrder> findAll();
+
+    Iterable<TacoOrder> findAllById(Iterable<Long> ids);
+
+    /**
+     * One page of order history, newest first by (placedAt, id). Pass null for
+     * both bounds to get the first page; for the next page, pass the placedAt
+     * and id of the last order on the current one. Pages are found by keyset
+     * on the Taco_Order (placed_at, id) index rather than by OFFSET, so a page
+     * deep into the history costs the same as the first.
+     */
+    List<TacoOrder> findHistoryPage(Date placedBefore, Long idBefore, int size);
+
+}
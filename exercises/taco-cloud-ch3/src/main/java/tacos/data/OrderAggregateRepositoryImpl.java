@@ -0,0 +1,198 @@
+package tacos.data;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+public class OrderAggregateRepositoryImpl implements OrderAggregateRepository {
+
+    static final int MAX_IN_LIST = 1000;
+
+    private static final String SELECT_ORDERS =
+            "select id, delivery_Name, delivery_Street, delivery_City, delivery_State, "
+            + "delivery_Zip, cc_number, cc_expiration, cc_cvv, placed_at from Taco_Order";
+
+    private static final String SELECT_TACOS =
+            "select id, name, created_at, taco_order, ingredient_mask, recipe from Taco";
+
+    private static final String SELECT_INGREDIENT_REFS =
+            "select r.ingredient, r.taco from Ingredient_Ref r";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final IngredientBits bits;
+    private final TacoRecipes recipes;
+    private final IngredientCatalog catalog;
+
+    public OrderAggregateRepositoryImpl(NamedParameterJdbcTemplate jdbc, IngredientBits bits,
+                                        TacoRecipes recipes, IngredientCatalog catalog) {
+        this.jdbc = jdbc;
+        this.bits = bits;
+        this.recipes = recipes;
+        this.catalog = catalog;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<TacoOrder> findById(Long id) {
+        return load(List.of(id)).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Iterable<TacoOrder> findAll() {
+        Map<Long, TacoOrder> orders = new LinkedHashMap<>();
+        jdbc.query(SELECT_ORDERS + " order by id", orderRows(orders));
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Taco> tacos = new LinkedHashMap<>();
+        Map<Long, List<Taco>> byRecipe = new HashMap<>();
+        jdbc.query(SELECT_TACOS + " order by taco_order, taco_order_key",
+                tacoRows(orders, tacos, byRecipe));
+        fillRecipes(byRecipe);
+        if (!tacos.isEmpty()) {
+            jdbc.query(SELECT_INGREDIENT_REFS + " order by r.taco, r.taco_key", ingredientRefRows(tacos));
+        }
+        return new ArrayList<>(orders.values());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Iterable<TacoOrder> findAllById(Iterable<Long> ids) {
+        TreeSet<Long> unique = new TreeSet<>();
+        ids.forEach(unique::add);
+        List<Long> sorted = new ArrayList<>(unique);
+        List<TacoOrder> orders = new ArrayList<>(sorted.size());
+        for (int from = 0; from < sorted.size(); from += MAX_IN_LIST) {
+            orders.addAll(load(sorted.subList(from, Math.min(from + MAX_IN_LIST, sorted.size()))));
+        }
+        return orders;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TacoOrder> findHistoryPage(Date placedBefore, Long idBefore, int size) {
+        Map<Long, TacoOrder> orders = new LinkedHashMap<>();
+        if (placedBefore == null || idBefore == null) {
+            jdbc.query(SELECT_ORDERS + " order by placed_at desc, id desc limit :size",
+                    Map.of("size", size), orderRows(orders));
+        } else {
+            // The placed_at <= bound is the index range; the second condition
+            // only skips orders placed in the same instant as the bound.
+            jdbc.query(SELECT_ORDERS + " where placed_at <= :placedAt"
+                    + " and (placed_at < :placedAt or id < :id)"
+                    + " order by placed_at desc, id desc limit :size",
+                    Map.of("placedAt", placedBefore, "id", idBefore, "size", size),
+                    orderRows(orders));
+        }
+        return loadChildren(orders);
+    }
+
+    private List<TacoOrder> load(List<Long> ids) {
+        Map<Long, TacoOrder> orders = new LinkedHashMap<>();
+        jdbc.query(SELECT_ORDERS + " where id in (:ids) order by id",
+                Map.of("ids", ids), orderRows(orders));
+        return loadChildren(orders);
+    }
+
+    private List<TacoOrder> loadChildren(Map<Long, TacoOrder> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Object> params = Map.of("ids", orders.keySet());
+        Map<Long, Taco> tacos = new LinkedHashMap<>();
+        Map<Long, List<Taco>> byRecipe = new HashMap<>();
+        jdbc.query(SELECT_TACOS + " where taco_order in (:ids) order by taco_order, taco_order_key",
+                params, tacoRows(orders, tacos, byRecipe));
+        fillRecipes(byRecipe);
+        if (!tacos.isEmpty()) {
+            jdbc.query(SELECT_INGREDIENT_REFS + " join Taco t on t.id = r.taco"
+                    + " where t.taco_order in (:ids) order by r.taco, r.taco_key",
+                    params, ingredientRefRows(tacos));
+        }
+        return new ArrayList<>(orders.values());
+    }
+
+    private static RowCallbackHandler orderRows(Map<Long, TacoOrder> orders) {
+        return rs -> {
+            TacoOrder order = mapOrder(rs);
+            orders.put(order.getId(), order);
+        };
+    }
+
+    /**
+     * Adds each taco to its order. Tacos stored with a mask get their
+     * ingredients right away. Tacos stored with a recipe are put in
+     * {@code byRecipe}, and the rest in {@code tacos} to wait for their
+     * Ingredient_Ref rows.
+     */
+    private RowCallbackHandler tacoRows(Map<Long, TacoOrder> orders, Map<Long, Taco> tacos,
+                                        Map<Long, List<Taco>> byRecipe) {
+        return rs -> {
+            Taco taco = new Taco();
+            taco.setId(rs.getLong("id"));
+            taco.setName(rs.getString("name"));
+            taco.setCreatedAt(rs.getTimestamp("created_at"));
+            orders.get(rs.getLong("taco_order")).addTaco(taco);
+            long mask = rs.getLong("ingredient_mask");
+            if (!rs.wasNull()) {
+                taco.setIngredients(bits.decode(mask));
+                return;
+            }
+            long recipe = rs.getLong("recipe");
+            if (!rs.wasNull()) {
+                byRecipe.computeIfAbsent(recipe, id -> new ArrayList<>()).add(taco);
+                return;
+            }
+            tacos.put(taco.getId(), taco);
+        };
+    }
+
+    private void fillRecipes(Map<Long, List<Taco>> byRecipe) {
+        if (byRecipe.isEmpty()) {
+            return;
+        }
+        Map<Long, List<IngredientRef>> ingredients = recipes.ingredients(byRecipe.keySet());
+        byRecipe.forEach((recipe, tacos) -> {
+            for (Taco taco : tacos) {
+                taco.setIngredients(new ArrayList<>(ingredients.get(recipe)));
+            }
+        });
+    }
+
+    private RowCallbackHandler ingredientRefRows(Map<Long, Taco> tacos) {
+        return rs -> tacos.get(rs.getLong("taco"))
+                .getIngredients().add(catalog.ref(rs.getString("ingredient")));
+    }
+
+    private static TacoOrder mapOrder(ResultSet rs) throws SQLException {
+        TacoOrder order = new TacoOrder();
+        order.setId(rs.getLong("id"));
+        order.setDeliveryName(rs.getString("delivery_Name"));
+        order.setDeliveryStreet(rs.getString("delivery_Street"));
+        order.setDeliveryCity(rs.getString("delivery_City"));
+        order.setDeliveryState(rs.getString("delivery_State"));
+        order.setDeliveryZip(rs.getString("delivery_Zip"));
+        order.setCcNumber(rs.getString("cc_number"));
+        order.setCcExpiration(rs.getString("cc_expiration"));
+        order.setCcCVV(rs.getString("cc_cvv"));
+        order.setPlacedAt(rs.getTimestamp("placed_at"));
+        return order;
+    }
+
+}
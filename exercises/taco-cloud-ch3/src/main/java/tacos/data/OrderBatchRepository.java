@@ -0,0 +1,47 @@
+package tacos.data;
+
+import java.util.List;
+
+import tacos.TacoOrder;
+
+/**
+ * Repository fragment that inserts whole {@link TacoOrder} aggregates with
+ * JDBC batches: one batch each for Taco_Order, Taco and Ingredient_Ref, all
+ * in one transaction, no matter how many tacos or ingredients there are.
+ *
+ * Ids come from {@link OrderIdAllocator} before anything is written, so no
+ * batch has to wait for the generated keys of the one before it. The same
+ * transaction adds the orders to {@link OrderRollups}, one more batch each for
+ * Order_Rollup_Hourly and Ingredient_Usage.
+ *
+ * With {@code taco.tacos.ingredient-storage=bitmask}, each taco's ingredients
+ * go into its Taco row as a mask (see {@link IngredientBits}). With
+ * {@code recipe}, the Taco row points at a shared recipe instead, and recipes
+ * not seen before cost one more batch (see {@link TacoRecipes}). Either way,
+ * only the tacos that can't be stored like that get Ingredient_Ref rows, and
+ * the Ingredient_Ref batch is skipped when there are none.
+ *
+ * It also replaces {@code save()} and {@code saveAll()}: orders without an id
+ * are inserted by {@link #insertBatched(List)}, so they are counted in the
+ * rollups too, and orders with one are updated by Spring Data JDBC as before.
+ * Updates and deletes leave the rollups alone; they count orders as placed.
+ */
+public interface OrderBatchRepository {
+
+    /**
+     * Inserts a new order with its tacos and ingredient refs, after assigning
+     * new ids to the order and its tacos.
+     */
+    TacoOrder insertBatched(TacoOrder order);
+
+    /**
+     * Inserts several new orders the same way as {@link #insertBatched(TacoOrder)},
+     * still with one batch per table.
+     */
+    List<TacoOrder> insertBatched(List<TacoOrder> orders);
+
+    <S extends TacoOrder> S save(S order);
+
+    <S extends TacoOrder> Iterable<S> saveAll(Iterable<S> orders);
+
+}
@@ -0,0 +1,183 @@
+package tacos.data;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.jdbc.core.JdbcAggregateOperations;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+public class OrderBatchRepositoryImpl implements OrderBatchRepository {
+
+    private static final String INSERT_ORDER =
+            "insert into Taco_Order (id, delivery_Name, delivery_Street, delivery_City, "
+            + "delivery_State, delivery_Zip, cc_number, cc_expiration, cc_cvv, placed_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TACO =
+            "insert into Taco (id, name, taco_order, taco_order_key, created_at, ingredient_mask, recipe) "
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_INGREDIENT_REF =
+            "insert into Ingredient_Ref (ingredient, taco, taco_key) "
+            + "values (?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final JdbcAggregateOperations aggregates;
+    private final OrderIdAllocator ids;
+    private final OrderRollups rollups;
+    private final IngredientBits bits;
+    private final TacoRecipes recipes;
+
+    public OrderBatchRepositoryImpl(JdbcTemplate jdbc, JdbcAggregateOperations aggregates,
+                                    OrderIdAllocator ids, OrderRollups rollups,
+                                    IngredientBits bits, TacoRecipes recipes) {
+        this.jdbc = jdbc;
+        this.aggregates = aggregates;
+        this.ids = ids;
+        this.rollups = rollups;
+        this.bits = bits;
+        this.recipes = recipes;
+    }
+
+    @Override
+    @Transactional
+    public TacoOrder insertBatched(TacoOrder order) {
+        return insertBatched(List.of(order)).get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<TacoOrder> insertBatched(List<TacoOrder> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        ids.assignIds(orders);
+        insertOrders(orders);
+
+        List<Taco> tacos = new ArrayList<>();
+        List<Long> tacoOrderIds = new ArrayList<>();
+        List<Integer> tacoOrderKeys = new ArrayList<>();
+        for (TacoOrder order : orders) {
+            List<Taco> orderTacos = order.getTacos();
+            for (int i = 0; i < orderTacos.size(); i++) {
+                tacos.add(orderTacos.get(i));
+                tacoOrderIds.add(order.getId());
+                tacoOrderKeys.add(i);
+            }
+        }
+        if (!tacos.isEmpty()) {
+            List<Long> masks = new ArrayList<>(tacos.size());
+            for (Taco taco : tacos) {
+                masks.add(bits.enabled() ? bits.encode(taco.getIngredients()) : null);
+            }
+            List<Long> recipeIds = recipes.enabled() ? recipes.store(tacos)
+                    : Collections.nCopies(tacos.size(), null);
+            insertTacos(tacos, tacoOrderIds, tacoOrderKeys, masks, recipeIds);
+            insertIngredientRefs(tacos, masks, recipeIds);
+        }
+        rollups.record(orders);
+        return orders;
+    }
+
+    @Override
+    @Transactional
+    public <S extends TacoOrder> S save(S order) {
+        if (order.getId() == null) {
+            insertBatched(order);
+            return order;
+        }
+        return aggregates.save(order);
+    }
+
+    @Override
+    @Transactional
+    public <S extends TacoOrder> Iterable<S> saveAll(Iterable<S> orders) {
+        List<S> saved = new ArrayList<>();
+        List<TacoOrder> newOrders = new ArrayList<>();
+        for (S order : orders) {
+            if (order.getId() == null) {
+                newOrders.add(order);
+                saved.add(order);
+            } else {
+                saved.add(aggregates.save(order));
+            }
+        }
+        insertBatched(newOrders);
+        return saved;
+    }
+
+    private void insertOrders(List<TacoOrder> orders) {
+        jdbc.batchUpdate(INSERT_ORDER, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TacoOrder order = orders.get(i);
+                ps.setLong(1, order.getId());
+                ps.setString(2, order.getDeliveryName());
+                ps.setString(3, order.getDeliveryStreet());
+                ps.setString(4, order.getDeliveryCity());
+                ps.setString(5, order.getDeliveryState());
+                ps.setString(6, order.getDeliveryZip());
+                ps.setString(7, order.getCcNumber());
+                ps.setString(8, order.getCcExpiration());
+                ps.setString(9, order.getCcCVV());
+                ps.setTimestamp(10, new Timestamp(order.getPlacedAt().getTime()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return orders.size();
+            }
+        });
+    }
+
+    private void insertTacos(List<Taco> tacos, List<Long> tacoOrderIds,
+                             List<Integer> tacoOrderKeys, List<Long> masks, List<Long> recipeIds) {
+        jdbc.batchUpdate(INSERT_TACO, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Taco taco = tacos.get(i);
+                ps.setLong(1, taco.getId());
+                ps.setString(2, taco.getName());
+                ps.setLong(3, tacoOrderIds.get(i));
+                ps.setInt(4, tacoOrderKeys.get(i));
+                ps.setTimestamp(5, new Timestamp(taco.getCreatedAt().getTime()));
+                ps.setObject(6, masks.get(i), Types.BIGINT);
+                ps.setObject(7, recipeIds.get(i), Types.BIGINT);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return tacos.size();
+            }
+        });
+    }
+
+    private void insertIngredientRefs(List<Taco> tacos, List<Long> masks, List<Long> recipeIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int t = 0; t < tacos.size(); t++) {
+            if (masks.get(t) != null || recipeIds.get(t) != null) {
+                continue;
+            }
+            Taco taco = tacos.get(t);
+            List<IngredientRef> ingredients = taco.getIngredients();
+            for (int i = 0; i < ingredients.size(); i++) {
+                rows.add(new Object[] {ingredients.get(i).getIngredient(), taco.getId(), i});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(INSERT_INGREDIENT_REF, rows);
+        }
+    }
+
+}
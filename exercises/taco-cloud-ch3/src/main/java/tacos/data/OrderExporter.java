@@ -0,0 +1,330 @@
+package tacos.data;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import tacos.IngredientRef;
+
+/**
+ * Writes every order, with its tacos and their ingredient ids, as NDJSON (one
+ * order per line) or CSV (one taco per line).
+ *
+ * Orders are read with a single forward-only, read-only query over Taco_Order,
+ * Taco, Taco_Recipe and Ingredient_Ref, ordered by order id only so the database can walk
+ * the primary key and the V2 indexes instead of sorting. Rows are written out
+ * as each order completes, so memory use depends on the size of one order, not
+ * on the number of orders. The fetch size is set by
+ * {@code taco.export.fetch-size}.
+ *
+ * Card details are never exported.
+ */
+@Component
+public class OrderExporter {
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown export format: " + name);
+        }
+    }
+
+    private static final String SELECT_ROWS =
+            "select o.id, o.placed_at, o.delivery_Name, o.delivery_Street, o.delivery_City, "
+            + "o.delivery_State, o.delivery_Zip, "
+            + "t.id as taco_id, t.name as taco_name, t.created_at as taco_created_at, "
+            + "t.taco_order_key, t.ingredient_mask, t.recipe, p.ingredients as recipe_ingredients, "
+            + "r.ingredient, r.taco_key "
+            + "from Taco_Order o "
+            + "left join Taco t on t.taco_order = o.id "
+            + "left join Taco_Recipe p on p.id = t.recipe "
+            + "left join Ingredient_Ref r on r.taco = t.id "
+            + "order by o.id";
+
+    private static final String CSV_HEADER =
+            "order_id,placed_at,delivery_name,delivery_street,delivery_city,"
+            + "delivery_state,delivery_zip,taco_id,taco_name,taco_created_at,ingredients";
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final IngredientBits bits;
+    private final TacoRecipes recipes;
+    private final int fetchSize;
+
+    public OrderExporter(JdbcTemplate jdbc, ObjectMapper objectMapper, IngredientBits bits,
+            TacoRecipes recipes, @Value("${taco.export.fetch-size:500}") int fetchSize) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+        this.bits = bits;
+        this.recipes = recipes;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes all orders to {@code out}, which is flushed but not closed.
+     *
+     * @return the number of orders written
+     */
+    public long export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        OrderSink sink = format == Format.NDJSON ? new NdjsonSink(writer) : new CsvSink(writer);
+        OrderAssembler assembler = new OrderAssembler(sink, bits, recipes);
+        try {
+            jdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_ROWS,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, assembler);
+            assembler.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return assembler.orders;
+    }
+
+    private record Row(long tacoId, String tacoName, Timestamp tacoCreatedAt,
+                       long tacoKey, String ingredient, long ingredientKey) {
+    }
+
+    private record OrderHead(long id, Timestamp placedAt, String name, String street,
+                             String city, String state, String zip) {
+    }
+
+    private interface OrderSink {
+        void write(OrderHead order, List<Row> rows) throws IOException;
+    }
+
+    /**
+     * Collects the rows of one order at a time and hands each complete order
+     * to the sink, with its tacos and ingredients in their list order.
+     */
+    private static class OrderAssembler implements RowCallbackHandler {
+
+        private static final Comparator<Row> LIST_ORDER =
+                Comparator.comparingLong(Row::tacoKey).thenComparingLong(Row::ingredientKey);
+
+        private final OrderSink sink;
+        private final IngredientBits bits;
+        private final TacoRecipes recipes;
+        private final List<Row> rows = new ArrayList<>();
+        private OrderHead current;
+        private long orders;
+
+        OrderAssembler(OrderSink sink, IngredientBits bits, TacoRecipes recipes) {
+            this.sink = sink;
+            this.bits = bits;
+            this.recipes = recipes;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (current == null || current.id() != id) {
+                finish();
+                current = new OrderHead(id, rs.getTimestamp("placed_at"),
+                        rs.getString("delivery_Name"), rs.getString("delivery_Street"),
+                        rs.getString("delivery_City"), rs.getString("delivery_State"),
+                        rs.getString("delivery_Zip"));
+            }
+            long tacoId = rs.getLong("taco_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            String tacoName = rs.getString("taco_name");
+            Timestamp tacoCreatedAt = rs.getTimestamp("taco_created_at");
+            long tacoKey = rs.getLong("taco_order_key");
+            List<IngredientRef> ingredients;
+            long mask = rs.getLong("ingredient_mask");
+            boolean masked = !rs.wasNull();
+            long recipe = rs.getLong("recipe");
+            if (masked) {
+                ingredients = bits.decode(mask);
+            } else if (!rs.wasNull()) {
+                ingredients = recipes.ingredients(recipe, rs.getString("recipe_ingredients"));
+            } else {
+                rows.add(new Row(tacoId, tacoName, tacoCreatedAt, tacoKey,
+                        rs.getString("ingredient"), rs.getLong("taco_key")));
+                return;
+            }
+            // Masked and recipe tacos have no Ingredient_Ref rows, so each comes as one row
+            if (ingredients.isEmpty()) {
+                rows.add(new Row(tacoId, tacoName, tacoCreatedAt, tacoKey, null, 0));
+            }
+            for (int i = 0; i < ingredients.size(); i++) {
+                rows.add(new Row(tacoId, tacoName, tacoCreatedAt, tacoKey,
+                        ingredients.get(i).getIngredient(), i));
+            }
+        }
+
+        void finish() {
+            if (current == null) {
+                return;
+            }
+            rows.sort(LIST_ORDER);
+            try {
+                sink.write(current, rows);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            orders++;
+            rows.clear();
+            current = null;
+        }
+
+    }
+
+    private class NdjsonSink implements OrderSink {
+
+        private final Writer writer;
+        private final JsonGenerator json;
+
+        NdjsonSink(Writer writer) throws IOException {
+            this.writer = writer;
+            this.json = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void write(OrderHead order, List<Row> rows) throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", order.id());
+            json.writeStringField("placedAt", order.placedAt().toInstant().toString());
+            json.writeStringField("deliveryName", order.name());
+            json.writeStringField("deliveryStreet", order.street());
+            json.writeStringField("deliveryCity", order.city());
+            json.writeStringField("deliveryState", order.state());
+            json.writeStringField("deliveryZip", order.zip());
+            json.writeArrayFieldStart("tacos");
+            for (int i = 0; i < rows.size(); ) {
+                Row taco = rows.get(i);
+                json.writeStartObject();
+                json.writeNumberField("id", taco.tacoId());
+                json.writeStringField("name", taco.tacoName());
+                json.writeStringField("createdAt", taco.tacoCreatedAt().toInstant().toString());
+                json.writeArrayFieldStart("ingredients");
+                for (; i < rows.size() && rows.get(i).tacoId() == taco.tacoId(); i++) {
+                    if (rows.get(i).ingredient() != null) {
+                        json.writeString(rows.get(i).ingredient());
+                    }
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.flush();
+            writer.write('\n');
+        }
+
+    }
+
+    private static class CsvSink implements OrderSink {
+
+        private final Writer writer;
+
+        CsvSink(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(OrderHead order, List<Row> rows) throws IOException {
+            if (rows.isEmpty()) {
+                writeOrder(order);
+                writer.write(",,,,\n");
+                return;
+            }
+            for (int i = 0; i < rows.size(); ) {
+                Row taco = rows.get(i);
+                writeOrder(order);
+                writer.write(',');
+                writer.write(Long.toString(taco.tacoId()));
+                writer.write(',');
+                writeField(taco.tacoName());
+                writer.write(',');
+                writer.write(taco.tacoCreatedAt().toInstant().toString());
+                writer.write(',');
+                // Ingredient ids are 4 letters, so a space-separated list needs no quoting
+                for (boolean first = true; i < rows.size() && rows.get(i).tacoId() == taco.tacoId(); i++) {
+                    if (rows.get(i).ingredient() != null) {
+                        if (!first) {
+                            writer.write(' ');
+                        }
+                        writer.write(rows.get(i).ingredient());
+                        first = false;
+                    }
+                }
+                writer.write('\n');
+            }
+        }
+
+        private void writeOrder(OrderHead order) throws IOException {
+            writer.write(Long.toString(order.id()));
+            writer.write(',');
+            writer.write(order.placedAt().toInstant().toString());
+            for (String field : new String[] {order.name(), order.street(), order.city(),
+                    order.state(), order.zip()}) {
+                writer.write(',');
+                writeField(field);
+            }
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+    }
+
+}
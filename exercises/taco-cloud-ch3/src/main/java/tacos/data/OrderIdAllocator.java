@@ -0,0 +1,76 @@
+package tacos.data;
+
+import java.util.List;
+
+import org.springframework.data.relational.core.mapping.event.BeforeConvertCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import tacos.Taco;
+import tacos.TacoOrder;
+
+/**
+ * Assigns ids to new orders and their tacos before they are inserted, from
+ * {@link HiLoIdGenerator}s on {@code Taco_Order_Id_Seq} and {@code Taco_Id_Seq}.
+ *
+ * {@link OrderRepository#insertBatched(List)} calls it directly, and
+ * {@code OrderRepository.save()} inserts new orders through that. It is also a
+ * Spring Data callback, so an order without an id inserted any other way, say
+ * by {@code JdbcAggregateTemplate}, gets its ids the same way, and so do
+ * tacos added to an existing order before it is saved again.
+ */
+@Component
+public class OrderIdAllocator implements BeforeConvertCallback<TacoOrder> {
+
+    private final HiLoIdGenerator orderIds;
+    private final HiLoIdGenerator tacoIds;
+
+    public OrderIdAllocator(JdbcTemplate jdbc) {
+        this.orderIds = new HiLoIdGenerator(jdbc, "Taco_Order_Id_Seq");
+        this.tacoIds = new HiLoIdGenerator(jdbc, "Taco_Id_Seq");
+    }
+
+    /**
+     * Gives each order and each of its tacos a new id, replacing any id they
+     * already had.
+     */
+    public void assignIds(List<TacoOrder> orders) {
+        for (TacoOrder order : orders) {
+            order.setId(orderIds.nextId());
+            for (Taco taco : order.getTacos()) {
+                taco.setId(tacoIds.nextId());
+            }
+        }
+    }
+
+    /**
+     * Number of id blocks reserved so far, for orders and tacos together;
+     * each one cost a sequence read.
+     */
+    public long getBlocksReserved() {
+        return orderIds.getBlocksReserved() + tacoIds.getBlocksReserved();
+    }
+
+    /**
+     * Gives new ids to the tacos of an existing order that don't have one yet,
+     * such as tacos added since it was loaded.
+     */
+    public void assignNewTacoIds(TacoOrder order) {
+        for (Taco taco : order.getTacos()) {
+            if (taco.getId() == null) {
+                taco.setId(tacoIds.nextId());
+            }
+        }
+    }
+
+    @Override
+    public TacoOrder onBeforeConvert(TacoOrder order) {
+        if (order.getId() == null) {
+            assignIds(List.of(order));
+        } else {
+            assignNewTacoIds(order);
+        }
+        return order;
+    }
+
+}
@@ -0,0 +1,18 @@
+package tacos.data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for {@link OrderImporter}.
+ *
+ * @param chunkSize     valid orders inserted per batch and transaction
+ * @param maxErrors     rejected lines described in the report; later ones are only counted
+ * @param maxLineLength longest NDJSON line accepted, in characters
+ */
+@ConfigurationProperties(prefix = "taco.orders.import")
+public record OrderImportProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("1000") int maxErrors,
+        @DefaultValue("65536") int maxLineLength) {
+}
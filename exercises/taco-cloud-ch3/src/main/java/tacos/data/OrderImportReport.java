@@ -0,0 +1,31 @@
+package tacos.data;
+
+import java.util.List;
+
+/**
+ * Outcome of one {@link OrderImporter} run.
+ *
+ * @param lines           non-blank lines read
+ * @param imported        orders saved
+ * @param rejected        lines that were not saved
+ * @param ordersPerSecond imported orders per second of wall-clock time
+ * @param errors          why each rejected line was rejected, up to
+ *                        {@code taco.orders.import.max-errors} lines
+ * @param errorsTruncated whether more lines were rejected than are listed
+ */
+public record OrderImportReport(
+        long lines,
+        long imported,
+        long rejected,
+        double ordersPerSecond,
+        List<LineError> errors,
+        boolean errorsTruncated) {
+
+    /**
+     * @param line     1-based line number in the request body
+     * @param messages one message per problem, prefixed with the property path when there is one
+     */
+    public record LineError(long line, List<String> messages) {
+    }
+
+}
@@ -0,0 +1,275 @@
+package tacos.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.data.OrderImportReport.LineError;
+import tacos.validation.ValidationMode;
+
+/**
+ * Imports orders from NDJSON, one {@link TacoOrder} per line, in the same
+ * JSON shape the order is bound to everywhere else.
+ *
+ * Lines are read and parsed one at a time. Each order and each of its tacos
+ * is checked with the Bean Validation constraints on {@link TacoOrder} and
+ * {@link Taco}, in the groups of {@code taco.validation.mode} (see
+ * {@link ValidationMode}), and every ingredient id must be in the
+ * {@link IngredientCatalog}.
+ * Orders must also fit the columns they are stored in and have no missing
+ * tacos or timestamps, so nothing a line can contain fails the whole import.
+ * Valid orders are collected into chunks of {@code taco.orders.import.chunk-size}
+ * and saved with {@link OrderRepository#insertBatched(List)}, one transaction
+ * per chunk. A chunk that fails to save is retried one order at a time, so
+ * only the orders that can't be saved are rejected.
+ *
+ * Memory is bounded by one chunk, one line and the error list, which stops
+ * growing after {@code taco.orders.import.max-errors} entries. Imported and
+ * rejected orders are counted as {@code taco.order.import}.
+ */
+@Component
+public class OrderImporter {
+
+    // Column sizes of Taco_Order and Taco, from V1__create_schema.sql
+    private static final List<Column> ORDER_COLUMNS = List.of(
+            new Column("deliveryName", 50, TacoOrder::getDeliveryName),
+            new Column("deliveryStreet", 50, TacoOrder::getDeliveryStreet),
+            new Column("deliveryCity", 50, TacoOrder::getDeliveryCity),
+            new Column("deliveryState", 2, TacoOrder::getDeliveryState),
+            new Column("deliveryZip", 10, TacoOrder::getDeliveryZip),
+            new Column("ccNumber", 16, TacoOrder::getCcNumber),
+            new Column("ccExpiration", 5, TacoOrder::getCcExpiration),
+            new Column("ccCVV", 3, TacoOrder::getCcCVV));
+
+    private static final int TACO_NAME_SIZE = 50;
+
+    private final OrderRepository orderRepo;
+    private final IngredientCatalog catalog;
+    private final Validator validator;
+    private final Class<?>[] validationGroups;
+    private final ObjectReader orderReader;
+    private final OrderImportProperties props;
+    private final Counter importedCounter;
+    private final Counter rejectedCounter;
+
+    public OrderImporter(OrderRepository orderRepo, IngredientCatalog catalog,
+            Validator validator, ObjectMapper objectMapper, OrderImportProperties props,
+            MeterRegistry meterRegistry,
+            @Value("${taco.validation.mode:full}") ValidationMode validationMode) {
+        this.orderRepo = orderRepo;
+        this.catalog = catalog;
+        this.validator = validator;
+        this.validationGroups = validationMode.groups();
+        this.orderReader = objectMapper.readerFor(TacoOrder.class);
+        this.props = props;
+        this.importedCounter = meterRegistry.counter("taco.order.import", "result", "imported");
+        this.rejectedCounter = meterRegistry.counter("taco.order.import", "result", "rejected");
+    }
+
+    /**
+     * Reads NDJSON from {@code in} to the end. The stream is not closed.
+     */
+    public OrderImportReport importOrders(InputStream in) throws IOException {
+        Run run = new Run();
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        long lineNumber = 0;
+        String line;
+        while ((line = readLine(reader)) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            run.lines++;
+            if (line.length() > props.maxLineLength()) {
+                run.reject(lineNumber, List.of("Line is longer than " + props.maxLineLength() + " characters"));
+                continue;
+            }
+            TacoOrder order;
+            try {
+                order = orderReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.reject(lineNumber, List.of("Not a taco order: " + e.getOriginalMessage()));
+                continue;
+            }
+            if (order == null) {
+                run.reject(lineNumber, List.of("Not a taco order: null"));
+                continue;
+            }
+            List<String> problems = validate(order);
+            if (!problems.isEmpty()) {
+                run.reject(lineNumber, problems);
+                continue;
+            }
+            run.add(lineNumber, order);
+        }
+        run.flush();
+        return run.report();
+    }
+
+    /**
+     * Like {@link BufferedReader#readLine()}, but stops buffering a line once it
+     * is over the limit; the rest of it is skipped and the line is reported as
+     * too long.
+     */
+    private String readLine(BufferedReader reader) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (line.length() <= props.maxLineLength()) {
+                line.append((char) c);
+            }
+        }
+        if (c == -1 && line.isEmpty()) {
+            return null;
+        }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+
+    private List<String> validate(TacoOrder order) {
+        List<String> problems = new ArrayList<>();
+        describe(validator.validate(order, validationGroups), "", problems);
+        for (Column column : ORDER_COLUMNS) {
+            checkLength(column.value().apply(order), column.size(), column.field(), problems);
+        }
+        if (order.getPlacedAt() == null) {
+            problems.add("placedAt: Must not be null");
+        }
+        List<Taco> tacos = order.getTacos();
+        if (tacos == null || tacos.isEmpty()) {
+            problems.add("tacos: An order needs at least one taco");
+            return problems;
+        }
+        for (int i = 0; i < tacos.size(); i++) {
+            String path = "tacos[" + i + "].";
+            Taco taco = tacos.get(i);
+            if (taco == null) {
+                problems.add("tacos[" + i + "]: Must not be null");
+                continue;
+            }
+            describe(validator.validate(taco, validationGroups), path, problems);
+            checkLength(taco.getName(), TACO_NAME_SIZE, path + "name", problems);
+            if (taco.getCreatedAt() == null) {
+                problems.add(path + "createdAt: Must not be null");
+            }
+            if (taco.getIngredients() == null) {
+                problems.add(path + "ingredients: Must not be null");
+                continue;
+            }
+            for (IngredientRef ref : taco.getIngredients()) {
+                if (ref == null || catalog.findById(ref.getIngredient()).isEmpty()) {
+                    problems.add(path + "ingredients: Unknown ingredient "
+                            + (ref == null ? null : ref.getIngredient()));
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static void checkLength(String value, int size, String field, List<String> problems) {
+        if (value != null && value.length() > size) {
+            problems.add(field + ": Must be at most " + size + " characters");
+        }
+    }
+
+    private static void describe(Set<? extends ConstraintViolation<?>> violations, String path,
+                                 List<String> problems) {
+        for (ConstraintViolation<?> violation : violations) {
+            problems.add(path + violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+    }
+
+    /**
+     * State of one import: the pending chunk, the counts and the error list.
+     */
+    private class Run {
+
+        private final long start = System.nanoTime();
+        private final List<TacoOrder> chunk = new ArrayList<>(props.chunkSize());
+        private final List<Long> chunkLines = new ArrayList<>(props.chunkSize());
+        private final List<LineError> errors = new ArrayList<>();
+        private long lines;
+        private long imported;
+        private long rejected;
+
+        void add(long lineNumber, TacoOrder order) {
+            chunk.add(order);
+            chunkLines.add(lineNumber);
+            if (chunk.size() >= props.chunkSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            save(chunk, chunkLines);
+            chunk.clear();
+            chunkLines.clear();
+        }
+
+        private void save(List<TacoOrder> orders, List<Long> lineNumbers) {
+            try {
+                orderRepo.insertBatched(orders);
+                imported += orders.size();
+                importedCounter.increment(orders.size());
+            } catch (DataAccessException e) {
+                if (orders.size() == 1) {
+                    reject(lineNumbers.get(0),
+                            List.of("Not saved: " + e.getMostSpecificCause().getMessage()));
+                    return;
+                }
+                // One bad order shouldn't hold back the rest of its chunk
+                for (int i = 0; i < orders.size(); i++) {
+                    save(List.of(orders.get(i)), List.of(lineNumbers.get(i)));
+                }
+            }
+        }
+
+        void reject(long lineNumber, List<String> messages) {
+            rejected++;
+            rejectedCounter.increment();
+            if (errors.size() < props.maxErrors()) {
+                errors.add(new LineError(lineNumber, List.copyOf(messages)));
+            }
+        }
+
+        OrderImportReport report() {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return new OrderImportReport(lines, imported, rejected,
+                    seconds > 0 ? imported / seconds : 0, List.copyOf(errors), rejected > errors.size());
+        }
+
+    }
+
+    private record Column(String field, int size, Function<TacoOrder, String> value) {
+    }
+
+}
@@ -0,0 +1,22 @@
+package tacos.data;
+
+import tacos.TacoOrder;
+
+/**
+ * Hands a validated order over to be persisted.
+ *
+ * The default implementation writes the order before returning. With
+ * {@code taco.orders.ingestion=write-behind} orders are journaled, queued and
+ * written in groups by a small writer pool instead (see
+ * {@link WriteBehindOrderIngestion}).
+ */
+public interface OrderIngestion {
+
+    /**
+     * Accepts an order for persistence.
+     *
+     * @throws OrderQueueFullException if the order can't be accepted right now
+     */
+    void submit(TacoOrder order);
+
+}
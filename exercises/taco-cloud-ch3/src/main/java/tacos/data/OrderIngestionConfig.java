@@ -0,0 +1,35 @@
+package tacos.data;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Picks the {@link OrderIngestion} mode from {@code taco.orders.ingestion}:
+ * {@code direct} (the default) or {@code write-behind}.
+ */
+@Configuration
+@EnableConfigurationProperties({WriteBehindProperties.class, OrderImportProperties.class})
+public class OrderIngestionConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "taco.orders.ingestion",
+            havingValue = "direct", matchIfMissing = true)
+    public OrderIngestion directOrderIngestion(OrderRepository orderRepo) {
+        return orderRepo::insertBatched;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "taco.orders.ingestion", havingValue = "write-behind")
+    public OrderIngestion writeBehindOrderIngestion(OrderRepository orderRepo,
+            ObjectMapper objectMapper, WriteBehindProperties props) throws IOException {
+        return new WriteBehindOrderIngestion(orderRepo,
+                new OrderJournal(props.journal(), props.deadLetter(), objectMapper), props);
+    }
+
+}
@@ -0,0 +1,187 @@
+package tacos.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import tacos.TacoOrder;
+
+/**
+ * Append-only local journal of orders accepted by {@link WriteBehindOrderIngestion}.
+ *
+ * Each accepted order is written as an {@code A <seq> <json>} line and forced
+ * to disk before it's queued. Once orders are in the database their sequence
+ * numbers are appended as a {@code P <seq>,<seq>...} line. On restart,
+ * {@link #recover()} returns every accepted order without a matching P line.
+ * The file is truncated whenever nothing is pending.
+ *
+ * Recovery is at-least-once: an order persisted just before a crash, but not
+ * yet marked, is written again after the restart.
+ *
+ * An order that can't be stored is moved to a separate dead-letter file by
+ * {@link #deadLetter(long, TacoOrder)}, as the same {@code A} line, so it no
+ * longer keeps the journal from being truncated.
+ */
+public class OrderJournal {
+
+    private final Path file;
+    private final Path deadLetterFile;
+    private final ObjectMapper objectMapper;
+    private final Set<Long> pending = new HashSet<>();
+
+    private FileChannel channel;
+    private long nextSeq = 1;
+
+    public OrderJournal(Path file, Path deadLetterFile, ObjectMapper objectMapper)
+            throws IOException {
+        this.file = file.toAbsolutePath();
+        this.deadLetterFile = deadLetterFile.toAbsolutePath();
+        this.objectMapper = objectMapper;
+        Files.createDirectories(this.file.getParent());
+        Files.createDirectories(this.deadLetterFile.getParent());
+    }
+
+    /**
+     * Reads the journal left by a previous run and returns the orders that were
+     * accepted but never marked persisted, keyed by sequence number. Must be
+     * called once, before anything is appended.
+     */
+    public synchronized Map<Long, TacoOrder> recover() throws IOException {
+        Map<Long, TacoOrder> unpersisted = new LinkedHashMap<>();
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    readLine(line, unpersisted);
+                }
+            }
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(0);
+        // Rewrite what's still outstanding, so the journal doesn't carry
+        // persisted entries from previous runs
+        for (Map.Entry<Long, TacoOrder> entry : unpersisted.entrySet()) {
+            write(acceptedLine(entry.getKey(), entry.getValue()));
+            pending.add(entry.getKey());
+            nextSeq = Math.max(nextSeq, entry.getKey() + 1);
+        }
+        channel.force(false);
+        return unpersisted;
+    }
+
+    /**
+     * Durably records an accepted order and returns its sequence number.
+     */
+    public synchronized long append(TacoOrder order) {
+        long seq = nextSeq++;
+        try {
+            write(acceptedLine(seq, order));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal order", e);
+        }
+        pending.add(seq);
+        return seq;
+    }
+
+    /**
+     * Records that the given orders are in the database.
+     */
+    public synchronized void markPersisted(Collection<Long> seqs) {
+        if (seqs.isEmpty()) {
+            return;
+        }
+        pending.removeAll(seqs);
+        try {
+            if (pending.isEmpty()) {
+                channel.truncate(0);
+                channel.position(0);
+            } else {
+                StringBuilder line = new StringBuilder("P ");
+                for (Long seq : seqs) {
+                    line.append(seq).append(',');
+                }
+                line.setLength(line.length() - 1);
+                write(line.toString());
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not update order journal", e);
+        }
+    }
+
+    /**
+     * Appends an order that will never be stored to the dead-letter file and
+     * then marks it persisted, so it isn't recovered again.
+     */
+    public synchronized void deadLetter(long seq, TacoOrder order) {
+        try (FileChannel deadLetters = FileChannel.open(deadLetterFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(
+                    (acceptedLine(seq, order) + "\n").getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                deadLetters.write(bytes);
+            }
+            deadLetters.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dead-letter order", e);
+        }
+        markPersisted(List.of(seq));
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void readLine(String line, Map<Long, TacoOrder> unpersisted) throws IOException {
+        try {
+            if (line.startsWith("A ")) {
+                int space = line.indexOf(' ', 2);
+                long seq = Long.parseLong(line.substring(2, space));
+                unpersisted.put(seq,
+                        objectMapper.readValue(line.substring(space + 1), TacoOrder.class));
+            } else if (line.startsWith("P ")) {
+                for (String seq : line.substring(2).split(",")) {
+                    unpersisted.remove(Long.parseLong(seq));
+                }
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // A torn write at the tail of the file. A torn A line was never
+            // acknowledged to the client; a torn P line only means those orders
+            // get written again.
+        }
+    }
+
+    private String acceptedLine(long seq, TacoOrder order) throws JsonProcessingException {
+        return "A " + seq + " " + objectMapper.writeValueAsString(order);
+    }
+
+    private void write(String line) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package tacos.data;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the write-behind queue has no room for another order. Surfaces
+ * to the client as 503 Service Unavailable so it can retry later.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE,
+        reason = "Too many orders right now, please try again shortly")
+public class OrderQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public OrderQueueFullException(String message) {
+        super(message);
+    }
+
+}
@@ -1,10 +1,30 @@
 package tacos.data;
 
+import java.util.Optional;
+
 import org.springframework.data.repository.CrudRepository;
 
 import tacos.TacoOrder;
 
 public interface OrderRepository
-        extends CrudRepository<TacoOrder, Long> {
+        extends CrudRepository<TacoOrder, Long>, OrderBatchRepository, OrderAggregateRepository {
+
+    // Redeclared so the OrderBatchRepository and OrderAggregateRepository
+    // methods win over CrudRepository's
+
+    @Override
+    <S extends TacoOrder> S save(S order);
+
+    @Override
+    <S extends TacoOrder> Iterable<S> saveAll(Iterable<S> orders);
+
+    @Override
+    Optional<TacoOrder> findById(Long id);
+
+    @Override
+    Iterable<TacoOrder> findAll();
+
+    @Override
+    Iterable<TacoOrder> findAllById(Iterable<Long> ids);
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,219 @@
+package tacos.data;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+/**
+ * Orders per hour and ingredient usage, kept as running totals so the
+ * dashboard never has to group over Taco_Order or Ingredient_Ref.
+ *
+ * {@link OrderRepository#insertBatched(List)}, which {@code save()} and
+ * {@code saveAll()} use for new orders, passes every batch of them to
+ * {@link #record(List)}, which adds them to Order_Rollup_Hourly and
+ * Ingredient_Usage in the same transaction, one JDBC batch per table. Each
+ * transaction picks one of {@code taco.rollups.stripes} stripe rows at random,
+ * so concurrent orders for the same hour or ingredient rarely wait on the same
+ * row lock; keys are written in sorted order so they can't deadlock either.
+ * When two transactions create the same stripe row at once, the loser rolls
+ * back to a savepoint and merges again, this time into the existing row.
+ *
+ * Once the transaction commits, the same totals are added to in-memory
+ * {@link LongAdder}s, published as {@code taco.rollup.orders} and
+ * {@code taco.rollup.ingredient.uses}. Those count this node's orders since
+ * startup; the tables hold the totals across all nodes.
+ *
+ * The totals are of orders as they were placed. Updating or deleting an order
+ * doesn't change them, so they can run ahead of what Taco_Order still holds.
+ */
+@Component
+public class OrderRollups {
+
+    private static final String MERGE_HOURLY =
+            "merge into Order_Rollup_Hourly r using (values (cast(? as timestamp), "
+            + "cast(? as int), cast(? as bigint), cast(? as bigint))) s(placed_hour, stripe, orders, tacos) "
+            + "on r.placed_hour = s.placed_hour and r.stripe = s.stripe "
+            + "when matched then update set orders = r.orders + s.orders, tacos = r.tacos + s.tacos "
+            + "when not matched then insert (placed_hour, stripe, orders, tacos) "
+            + "values (s.placed_hour, s.stripe, s.orders, s.tacos)";
+
+    private static final String MERGE_USAGE =
+            "merge into Ingredient_Usage u using (values (cast(? as varchar), "
+            + "cast(? as int), cast(? as bigint))) s(ingredient, stripe, uses) "
+            + "on u.ingredient = s.ingredient and u.stripe = s.stripe "
+            + "when matched then update set uses = u.uses + s.uses "
+            + "when not matched then insert (ingredient, stripe, uses) "
+            + "values (s.ingredient, s.stripe, s.uses)";
+
+    private static final String SELECT_HOURLY =
+            "select placed_hour, sum(orders) orders, sum(tacos) tacos from Order_Rollup_Hourly "
+            + "where placed_hour >= ? and placed_hour < ? group by placed_hour";
+
+    private static final String SELECT_TOP_INGREDIENTS =
+            "select ingredient, sum(uses) uses from Ingredient_Usage "
+            + "group by ingredient order by uses desc, ingredient limit ?";
+
+    private static final int MERGE_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate savepoint;
+    private final IngredientCatalog catalog;
+    private final MeterRegistry meterRegistry;
+    private final int stripes;
+
+    private final LongAdder orders = new LongAdder();
+    private final Map<String, LongAdder> ingredientUses = new ConcurrentHashMap<>();
+
+    public OrderRollups(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+            IngredientCatalog catalog, MeterRegistry meterRegistry,
+            @Value("${taco.rollups.stripes:8}") int stripes) {
+        this.jdbc = jdbc;
+        this.savepoint = new TransactionTemplate(transactionManager);
+        this.savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.catalog = catalog;
+        this.meterRegistry = meterRegistry;
+        this.stripes = stripes;
+        FunctionCounter.builder("taco.rollup.orders", orders, LongAdder::sum)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds new orders to the rollups. Call it in the transaction that inserts
+     * them, so the totals only change if the orders are saved.
+     */
+    public void record(List<TacoOrder> newOrders) {
+        if (newOrders.isEmpty()) {
+            return;
+        }
+        Map<LocalDateTime, long[]> hourly = new TreeMap<>();
+        Map<String, Long> usage = new TreeMap<>();
+        for (TacoOrder order : newOrders) {
+            long[] totals = hourly.computeIfAbsent(hour(order), h -> new long[2]);
+            totals[0]++;
+            totals[1] += order.getTacos().size();
+            for (Taco taco : order.getTacos()) {
+                for (IngredientRef ref : taco.getIngredients()) {
+                    usage.merge(ref.getIngredient(), 1L, Long::sum);
+                }
+            }
+        }
+
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        List<Object[]> hourlyRows = new ArrayList<>(hourly.size());
+        hourly.forEach((hour, totals) ->
+                hourlyRows.add(new Object[] {Timestamp.valueOf(hour), stripe, totals[0], totals[1]}));
+        merge(MERGE_HOURLY, hourlyRows);
+        if (!usage.isEmpty()) {
+            List<Object[]> usageRows = new ArrayList<>(usage.size());
+            usage.forEach((ingredient, uses) -> usageRows.add(new Object[] {ingredient, stripe, uses}));
+            merge(MERGE_USAGE, usageRows);
+        }
+
+        Runnable count = () -> {
+            orders.add(newOrders.size());
+            usage.forEach((ingredient, uses) -> uses(ingredient).add(uses));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    count.run();
+                }
+            });
+        } else {
+            count.run();
+        }
+    }
+
+    /**
+     * Orders and tacos per hour for the hours from {@code from} up to but not
+     * including {@code to}, oldest first, with zeros for hours without orders.
+     * Reads at most one row per stripe per hour.
+     */
+    public List<HourlyOrders> ordersPerHour(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        Map<LocalDateTime, HourlyOrders> found = new HashMap<>();
+        jdbc.query(SELECT_HOURLY, rs -> {
+            LocalDateTime hour = rs.getTimestamp("placed_hour").toLocalDateTime();
+            found.put(hour, new HourlyOrders(hour, rs.getLong("orders"), rs.getLong("tacos")));
+        }, Timestamp.valueOf(start), Timestamp.valueOf(to));
+
+        List<HourlyOrders> hours = new ArrayList<>();
+        for (LocalDateTime hour = start; hour.isBefore(to); hour = hour.plusHours(1)) {
+            hours.add(found.getOrDefault(hour, new HourlyOrders(hour, 0, 0)));
+        }
+        return hours;
+    }
+
+    /**
+     * The most used ingredients across all orders, most used first. Reads at
+     * most one row per stripe per ingredient.
+     */
+    public List<IngredientUsage> topIngredients(int limit) {
+        return jdbc.query(SELECT_TOP_INGREDIENTS, (rs, row) -> {
+            String id = rs.getString("ingredient");
+            String name = catalog.findById(id).map(i -> i.getName()).orElse(id);
+            return new IngredientUsage(id, name, rs.getLong("uses"));
+        }, limit);
+    }
+
+    private void merge(String sql, List<Object[]> rows) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                savepoint.executeWithoutResult(status -> jdbc.batchUpdate(sql, rows));
+                return;
+            } catch (DuplicateKeyException e) {
+                // Another transaction inserted one of the rows first
+                if (attempt == MERGE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private LongAdder uses(String ingredient) {
+        return ingredientUses.computeIfAbsent(ingredient, id -> {
+            LongAdder adder = new LongAdder();
+            FunctionCounter.builder("taco.rollup.ingredient.uses", adder, LongAdder::sum)
+                    .tag("ingredient", id)
+                    .register(meterRegistry);
+            return adder;
+        });
+    }
+
+    private static LocalDateTime hour(TacoOrder order) {
+        return new Timestamp(order.getPlacedAt().getTime()).toLocalDateTime()
+                .truncatedTo(ChronoUnit.HOURS);
+    }
+
+    public record HourlyOrders(LocalDateTime hour, long orders, long tacos) {
+    }
+
+    public record IngredientUsage(String ingredient, String name, long uses) {
+    }
+
+}
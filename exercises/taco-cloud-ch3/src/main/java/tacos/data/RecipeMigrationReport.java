@@ -0,0 +1,19 @@
+package tacos.data;
+
+/**
+ * Outcome of one {@link TacoRecipeMigrator} run.
+ *
+ * @param tacos                 tacos moved from Ingredient_Ref rows to a recipe
+ * @param recipesCreated        Taco_Recipe rows added
+ * @param ingredientRefsRemoved Ingredient_Ref rows deleted
+ * @param bytesBefore           bytes of column data in Taco, Ingredient_Ref and
+ *                              Taco_Recipe before the run
+ * @param bytesAfter            the same, after the run
+ */
+public record RecipeMigrationReport(
+        long tacos,
+        long recipesCreated,
+        long ingredientRefsRemoved,
+        long bytesBefore,
+        long bytesAfter) {
+}
@@ -0,0 +1,55 @@
+package tacos.data;
+
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import tacos.web.RequestPhases;
+import tacos.web.RequestPhases.Phase;
+
+/**
+ * Times every repository method as {@code taco.repository}, tagged with the
+ * repository and method name, and counts the time towards the
+ * {@link Phase#PERSISTENCE} phase of the current request.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryTimer(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    String repository = factoryBean.getObjectType().getSimpleName();
+                    MethodInterceptor timer = invocation -> {
+                        long start = System.nanoTime();
+                        try {
+                            return invocation.proceed();
+                        } finally {
+                            long nanos = System.nanoTime() - start;
+                            RequestPhases.add(Phase.PERSISTENCE, nanos);
+                            Timer.builder("taco.repository")
+                                    .tag("repository", repository)
+                                    .tag("method", invocation.getMethod().getName())
+                                    .register(registry.getObject())
+                                    .record(nanos, TimeUnit.NANOSECONDS);
+                        }
+                    };
+                    factoryBean.addRepositoryFactoryCustomizer(
+                            factory -> factory.addRepositoryProxyPostProcessor(
+                                    (proxyFactory, info) -> proxyFactory.addAdvice(timer)));
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,135 @@
+package tacos.data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tacos.Taco;
+
+/**
+ * Moves tacos written as Ingredient_Ref rows over to shared recipes (see
+ * {@link TacoRecipes}), whatever {@code taco.tacos.ingredient-storage} is set
+ * to. Tacos stored as a mask are left alone: a mask already takes as little
+ * room in the Taco row as a recipe reference.
+ *
+ * Tacos are walked by id in chunks of {@code taco.recipes.migration.chunk-size}.
+ * Each chunk is one transaction that stores its recipes, points the tacos at
+ * them and deletes their Ingredient_Ref rows, so the migration can run next to
+ * live traffic and can be stopped and run again at any point.
+ */
+@Component
+public class TacoRecipeMigrator {
+
+    private static final String SELECT_CHUNK =
+            "select id from Taco where recipe is null and ingredient_mask is null and id > :after "
+            + "order by id limit :size";
+
+    private static final String SELECT_INGREDIENT_REFS =
+            "select ingredient, taco from Ingredient_Ref where taco in (:ids) order by taco, taco_key";
+
+    private static final String UPDATE_TACO =
+            "update Taco set recipe = :recipe where id = :id";
+
+    private static final String DELETE_INGREDIENT_REFS =
+            "delete from Ingredient_Ref where taco in (:ids)";
+
+    private static final String COUNT_RECIPES =
+            "select count(*) from Taco_Recipe";
+
+    // Column data only: 8 bytes per bigint and timestamp, plus the characters of
+    // each string. Row headers and indexes come on top and shrink along with it.
+    private static final String DATA_BYTES =
+            "select (select coalesce(sum(32 + octet_length(name)), 0) + 8 * count(ingredient_mask) "
+            + "+ 8 * count(recipe) from Taco) "
+            + "+ (select coalesce(sum(16 + octet_length(ingredient)), 0) from Ingredient_Ref) "
+            + "+ (select coalesce(sum(8 + octet_length(ingredients)), 0) from Taco_Recipe)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final TacoRecipes recipes;
+    private final IngredientCatalog catalog;
+    private final int chunkSize;
+
+    public TacoRecipeMigrator(NamedParameterJdbcTemplate jdbc,
+            PlatformTransactionManager transactionManager, TacoRecipes recipes,
+            IngredientCatalog catalog,
+            @Value("${taco.recipes.migration.chunk-size:1000}") int chunkSize) {
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.recipes = recipes;
+        this.catalog = catalog;
+        this.chunkSize = Math.min(chunkSize, OrderAggregateRepositoryImpl.MAX_IN_LIST);
+    }
+
+    public RecipeMigrationReport migrate() {
+        long bytesBefore = dataBytes();
+        long recipesBefore = countRecipes();
+        long tacos = 0;
+        long refsRemoved = 0;
+
+        long after = 0;
+        while (true) {
+            List<Long> ids = jdbc.queryForList(SELECT_CHUNK,
+                    Map.of("after", after, "size", chunkSize), Long.class);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long[] migrated = transactions.execute(status -> migrateChunk(ids));
+            tacos += migrated[0];
+            refsRemoved += migrated[1];
+            after = ids.get(ids.size() - 1);
+        }
+
+        return new RecipeMigrationReport(tacos, countRecipes() - recipesBefore, refsRemoved,
+                bytesBefore, dataBytes());
+    }
+
+    /**
+     * @return the number of tacos migrated and of Ingredient_Ref rows deleted
+     */
+    private long[] migrateChunk(List<Long> ids) {
+        Map<Long, Taco> tacos = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Taco taco = new Taco();
+            taco.setId(id);
+            tacos.put(id, taco);
+        }
+        jdbc.query(SELECT_INGREDIENT_REFS, Map.of("ids", ids), rs -> {
+            tacos.get(rs.getLong("taco")).getIngredients()
+                    .add(catalog.ref(rs.getString("ingredient")));
+        });
+
+        List<Taco> chunk = new ArrayList<>(tacos.values());
+        List<Long> recipeIds = recipes.store(chunk);
+        List<Map<String, Object>> updates = new ArrayList<>();
+        List<Long> migrated = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (recipeIds.get(i) != null) {
+                updates.add(Map.of("recipe", recipeIds.get(i), "id", chunk.get(i).getId()));
+                migrated.add(chunk.get(i).getId());
+            }
+        }
+        if (migrated.isEmpty()) {
+            return new long[] {0, 0};
+        }
+        jdbc.batchUpdate(UPDATE_TACO, updates.toArray(Map[]::new));
+        int removed = jdbc.update(DELETE_INGREDIENT_REFS, Map.of("ids", migrated));
+        return new long[] {migrated.size(), removed};
+    }
+
+    private long countRecipes() {
+        return jdbc.getJdbcTemplate().queryForObject(COUNT_RECIPES, Long.class);
+    }
+
+    private long dataBytes() {
+        return jdbc.getJdbcTemplate().queryForObject(DATA_BYTES, Long.class);
+    }
+
+}
@@ -0,0 +1,278 @@
+package tacos.data;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+
+/**
+ * Stores each distinct set of taco ingredients once, in Taco_Recipe, and lets
+ * tacos point at it through Taco.recipe.
+ *
+ * A recipe is keyed by its ingredient ids, sorted and joined with commas, and
+ * its id is the first 8 bytes of the SHA-256 of that key. So a writer knows a
+ * taco's recipe id without asking the database; it only has to make sure the
+ * row exists, with one insert-if-absent batch for the recipes it hasn't seen.
+ * Recipes the batch finds already there are read back and checked against
+ * their keys, so two keys with the same id fail the save instead of mixing up
+ * tacos.
+ *
+ * Up to {@code taco.recipes.intern-size} recipes are kept in memory, with
+ * their ingredient lists, once they are known to be committed. Writes of
+ * those recipes skip the database, and reads skip both the Taco_Recipe query
+ * and splitting the key. Recipes are interned as they are first used, on the
+ * assumption that the popular ones come up early; the rest keep working
+ * through the database.
+ *
+ * Like a mask, a recipe doesn't keep the order ingredients were added in:
+ * they come back sorted by id. Duplicates are kept.
+ */
+@Component
+public class TacoRecipes {
+
+    /**
+     * Longest key Taco_Recipe.ingredients can hold.
+     */
+    static final int MAX_KEY_LENGTH = 1000;
+
+    private static final String INSERT_RECIPE =
+            "insert into Taco_Recipe (id, ingredients) select :id, :ingredients "
+            + "where not exists (select 1 from Taco_Recipe where id = :id)";
+
+    private static final String SELECT_RECIPES =
+            "select id, ingredients from Taco_Recipe where id in (:ids)";
+
+    private static final int INSERT_ATTEMPTS = 3;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate savepoint;
+    private final IngredientCatalog catalog;
+    private final IngredientStorage storage;
+    private final int internSize;
+
+    private final Map<Long, Recipe> interned = new ConcurrentHashMap<>();
+    private final Map<String, Recipe> internedByKey = new ConcurrentHashMap<>();
+
+    public TacoRecipes(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+            IngredientCatalog catalog,
+            @Value("${taco.tacos.ingredient-storage:rows}") IngredientStorage storage,
+            @Value("${taco.recipes.intern-size:1024}") int internSize) {
+        this.jdbc = jdbc;
+        this.savepoint = new TransactionTemplate(transactionManager);
+        this.savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.catalog = catalog;
+        this.storage = storage;
+        this.internSize = internSize;
+    }
+
+    /**
+     * Whether new tacos should be written as recipe references.
+     */
+    public boolean enabled() {
+        return storage == IngredientStorage.RECIPE;
+    }
+
+    /**
+     * Makes sure a recipe exists for each of {@code tacos} and returns their
+     * ids, in the same order. The id is null for a taco that has to be written
+     * as Ingredient_Ref rows. Call it in the transaction that inserts the
+     * tacos.
+     */
+    public List<Long> store(List<Taco> tacos) {
+        List<Long> ids = new ArrayList<>(tacos.size());
+        Map<Long, Recipe> used = new LinkedHashMap<>();
+        for (Taco taco : tacos) {
+            Recipe recipe = recipeOf(taco.getIngredients());
+            if (recipe == null) {
+                ids.add(null);
+                continue;
+            }
+            ids.add(recipe.id());
+            used.putIfAbsent(recipe.id(), recipe);
+        }
+        List<Recipe> unseen = used.values().stream()
+                .filter(recipe -> !interned.containsKey(recipe.id()))
+                .toList();
+        if (!unseen.isEmpty()) {
+            insert(unseen);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        unseen.forEach(TacoRecipes.this::intern);
+                    }
+                });
+            } else {
+                unseen.forEach(this::intern);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * The ingredients of each recipe in {@code ids}, from memory where
+     * possible and otherwise with one query (per
+     * {@link OrderAggregateRepositoryImpl#MAX_IN_LIST} recipes). The lists are read-only and
+     * shared, so copy one for each taco.
+     */
+    public Map<Long, List<IngredientRef>> ingredients(Collection<Long> ids) {
+        Map<Long, List<IngredientRef>> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Recipe recipe = interned.get(id);
+            if (recipe != null) {
+                found.put(id, recipe.ingredients());
+            } else {
+                missing.add(id);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += OrderAggregateRepositoryImpl.MAX_IN_LIST) {
+            List<Long> chunk = missing.subList(from,
+                    Math.min(from + OrderAggregateRepositoryImpl.MAX_IN_LIST, missing.size()));
+            jdbc.query(SELECT_RECIPES, Map.of("ids", chunk), rs -> {
+                found.put(rs.getLong("id"), read(rs.getLong("id"), rs.getString("ingredients")));
+            });
+        }
+        return found;
+    }
+
+    /**
+     * The ingredients of a recipe whose key was read along with its taco. The
+     * list is new and may be changed; the refs in it are shared.
+     */
+    public List<IngredientRef> ingredients(long id, String key) {
+        Recipe recipe = interned.get(id);
+        return new ArrayList<>(recipe != null ? recipe.ingredients() : read(id, key));
+    }
+
+    /**
+     * The recipe key for {@code ingredients}: their ids, sorted and joined with
+     * commas.
+     */
+    static String key(List<IngredientRef> ingredients) {
+        String[] ids = new String[ingredients.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ingredients.get(i).getIngredient();
+        }
+        Arrays.sort(ids);
+        return String.join(",", ids);
+    }
+
+    /**
+     * The recipe id for {@code key}: the first 8 bytes of its SHA-256.
+     */
+    static long id(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(hash).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required of every JVM", e);
+        }
+    }
+
+    private Recipe recipeOf(List<IngredientRef> ingredients) {
+        for (IngredientRef ref : ingredients) {
+            if (catalog.findById(ref.getIngredient()).isEmpty()) {
+                // Left to the Ingredient_Ref foreign key to reject
+                return null;
+            }
+        }
+        String key = key(ingredients);
+        if (key.length() > MAX_KEY_LENGTH) {
+            return null;
+        }
+        Recipe recipe = internedByKey.get(key);
+        return recipe != null ? recipe : new Recipe(id(key), key, parse(key));
+    }
+
+    private void insert(List<Recipe> recipes) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] rows = recipes.stream()
+                .map(recipe -> Map.<String, Object>of("id", recipe.id(), "ingredients", recipe.key()))
+                .toArray(Map[]::new);
+        int[] counts;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                counts = savepoint.execute(status -> jdbc.batchUpdate(INSERT_RECIPE, rows));
+                break;
+            } catch (DuplicateKeyException e) {
+                // Another transaction inserted one of the recipes first
+                if (attempt == INSERT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+
+        Map<Long, String> existing = new HashMap<>();
+        for (int i = 0; i < recipes.size(); i++) {
+            if (counts[i] != 1) {
+                existing.put(recipes.get(i).id(), recipes.get(i).key());
+            }
+        }
+        if (existing.isEmpty()) {
+            return;
+        }
+        jdbc.query(SELECT_RECIPES, Map.of("ids", existing.keySet()), rs -> {
+            long id = rs.getLong("id");
+            String stored = rs.getString("ingredients");
+            if (!stored.equals(existing.get(id))) {
+                throw new IllegalStateException("Recipes [" + stored + "] and ["
+                        + existing.get(id) + "] have the same id " + id);
+            }
+        });
+    }
+
+    private List<IngredientRef> read(long id, String key) {
+        Recipe recipe = new Recipe(id, key, parse(key));
+        // Only what other transactions can already see is interned
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            intern(recipe);
+        }
+        return recipe.ingredients();
+    }
+
+    private void intern(Recipe recipe) {
+        if (interned.size() < internSize && interned.putIfAbsent(recipe.id(), recipe) == null) {
+            internedByKey.put(recipe.key(), recipe);
+        }
+    }
+
+    private List<IngredientRef> parse(String key) {
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        String[] ids = key.split(",");
+        List<IngredientRef> ingredients = new ArrayList<>(ids.length);
+        for (String id : ids) {
+            ingredients.add(catalog.ref(id));
+        }
+        return List.copyOf(ingredients);
+    }
+
+    private record Recipe(long id, String key, List<IngredientRef> ingredients) {
+    }
+
+}
@@ -0,0 +1,178 @@
+package tacos.data;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import lombok.extern.slf4j.Slf4j;
+import tacos.TacoOrder;
+
+/**
+ * Write-behind {@link OrderIngestion}.
+ *
+ * {@link #submit(TacoOrder)} journals the order, puts it on a bounded queue
+ * and returns; it fails with {@link OrderQueueFullException} when the queue is
+ * full. Writer threads drain the queue in groups of up to
+ * {@link WriteBehindProperties#batchSize()} orders and persist each group in
+ * one transaction with {@link OrderRepository#insertBatched(List)}.
+ *
+ * Orders left in the journal by a previous run are written on {@link #start()},
+ * before any writer starts.
+ *
+ * An order that fails on its own is put back on the queue after
+ * {@link WriteBehindProperties#retryDelay()}, doubled for every further
+ * attempt, so a short database outage only delays it. After
+ * {@link WriteBehindProperties#maxAttempts()} it is moved to the dead-letter
+ * file (see {@link OrderJournal#deadLetter}) and the journal can be truncated
+ * again. Retries still waiting at shutdown stay in the journal and start over
+ * on the next run.
+ */
+@Slf4j
+public class WriteBehindOrderIngestion implements OrderIngestion {
+
+    private final OrderRepository orderRepo;
+    private final OrderJournal journal;
+    private final WriteBehindProperties props;
+    private final BlockingQueue<Entry> queue;
+
+    private ExecutorService writers;
+    private ScheduledExecutorService retries;
+    private volatile boolean running;
+
+    public WriteBehindOrderIngestion(OrderRepository orderRepo, OrderJournal journal,
+                                     WriteBehindProperties props) {
+        this.orderRepo = orderRepo;
+        this.journal = journal;
+        this.props = props;
+        this.queue = new ArrayBlockingQueue<>(props.queueCapacity());
+    }
+
+    public void start() throws IOException {
+        retries = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("order-retry-"));
+        List<Entry> recovered = new ArrayList<>();
+        for (Map.Entry<Long, TacoOrder> e : journal.recover().entrySet()) {
+            recovered.add(new Entry(e.getKey(), e.getValue(), 0));
+        }
+        if (!recovered.isEmpty()) {
+            log.info("Writing {} journaled orders from a previous run", recovered.size());
+            for (int i = 0; i < recovered.size(); i += props.batchSize()) {
+                persist(recovered.subList(i, Math.min(i + props.batchSize(), recovered.size())));
+            }
+        }
+
+        running = true;
+        writers = Executors.newFixedThreadPool(props.writers(),
+                new CustomizableThreadFactory("order-writer-"));
+        for (int i = 0; i < props.writers(); i++) {
+            writers.execute(this::drain);
+        }
+    }
+
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        retries.shutdownNow();
+        writers.shutdown();
+        if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Order writers didn't finish; {} orders remain in the journal",
+                    journal.pendingCount());
+            writers.shutdownNow();
+        }
+        journal.close();
+    }
+
+    @Override
+    public void submit(TacoOrder order) {
+        if (!running) {
+            throw new OrderQueueFullException("Order writers are not running");
+        }
+        // Check before journaling so a rejected order doesn't linger in the
+        // journal; the offer below can still lose the race for the last slot
+        if (queue.remainingCapacity() == 0) {
+            throw new OrderQueueFullException("Order queue is full");
+        }
+        long seq = journal.append(order);
+        if (!queue.offer(new Entry(seq, order, 0))) {
+            // Rejected, so nothing to recover: take it back out of the journal
+            journal.markPersisted(List.of(seq));
+            throw new OrderQueueFullException("Order queue is full");
+        }
+    }
+
+    private void drain() {
+        List<Entry> group = new ArrayList<>(props.batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, props.batchSize() - 1);
+                persist(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void persist(List<Entry> group) {
+        try {
+            orderRepo.insertBatched(group.stream().map(Entry::order).toList());
+            journal.markPersisted(group.stream().map(Entry::seq).toList());
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                retry(group.get(0), e);
+                return;
+            }
+            // One bad order shouldn't hold back the rest of its group
+            for (Entry entry : group) {
+                persist(List.of(entry));
+            }
+        }
+    }
+
+    private void retry(Entry entry, RuntimeException failure) {
+        int attempts = entry.attempts() + 1;
+        if (attempts >= props.maxAttempts()) {
+            log.error("Giving up on journaled order {} after {} attempts; moved to {}",
+                    entry.seq(), attempts, props.deadLetter(), failure);
+            journal.deadLetter(entry.seq(), entry.order());
+            return;
+        }
+        Duration delay = props.retryDelay().multipliedBy(1L << (attempts - 1));
+        log.warn("Could not write journaled order {}; retrying in {}", entry.seq(), delay, failure);
+        requeue(new Entry(entry.seq(), entry.order(), attempts), delay);
+    }
+
+    private void requeue(Entry entry, Duration delay) {
+        try {
+            retries.schedule(() -> {
+                // No room right now; try again after the same wait
+                if (!queue.offer(entry)) {
+                    requeue(entry, delay);
+                }
+            }, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the order stays in the journal for the next start
+        }
+    }
+
+    private record Entry(long seq, TacoOrder order, int attempts) {
+    }
+
+}
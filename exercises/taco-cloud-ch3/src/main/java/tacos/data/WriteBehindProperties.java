@@ -0,0 +1,30 @@
+package tacos.data;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for {@link WriteBehindOrderIngestion}.
+ *
+ * @param queueCapacity orders that may wait for a writer before submit() fails
+ * @param writers       number of writer threads
+ * @param batchSize     most orders a writer persists in one transaction
+ * @param journal       file that accepted orders are journaled to
+ * @param maxAttempts   times an order is tried before it is dead-lettered
+ * @param retryDelay    wait before the first retry of a failed order; it
+ *                      doubles with every further attempt
+ * @param deadLetter    file that orders are moved to after maxAttempts
+ */
+@ConfigurationProperties(prefix = "taco.orders.write-behind")
+public record WriteBehindProperties(
+        @DefaultValue("1000") int queueCapacity,
+        @DefaultValue("2") int writers,
+        @DefaultValue("50") int batchSize,
+        @DefaultValue("order-journal.log") Path journal,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("1s") Duration retryDelay,
+        @DefaultValue("order-dead-letter.log") Path deadLetter) {
+}
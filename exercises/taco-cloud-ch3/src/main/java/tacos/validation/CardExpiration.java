@@ -0,0 +1,34 @@
+package tacos.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * A card expiry date formatted {@code MM/YY}, with a month from 01 to 12 and
+ * a year from 20 to 99. Accepts exactly what the pattern
+ * {@code ^(0[1-9]|1[0-2])([\/])([2-9][0-9])$} does, checking the five
+ * characters directly instead of running a regex matcher.
+ *
+ * {@code null} is valid.
+ */
+@Documented
+@Constraint(validatedBy = CardExpirationValidator.class)
+@Target({FIELD, PARAMETER})
+@Retention(RUNTIME)
+public @interface CardExpiration {
+
+    String message() default "Must be formatted MM/YY";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+}
@@ -0,0 +1,25 @@
+package tacos.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class CardExpirationValidator implements ConstraintValidator<CardExpiration, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        if (value.length() != 5 || value.charAt(2) != '/') {
+            return false;
+        }
+        char m1 = value.charAt(0);
+        char m2 = value.charAt(1);
+        char y1 = value.charAt(3);
+        char y2 = value.charAt(4);
+        boolean month = m1 == '0' ? m2 >= '1' && m2 <= '9'
+                : m1 == '1' && m2 >= '0' && m2 <= '2';
+        return month && y1 >= '2' && y1 <= '9' && y2 >= '0' && y2 <= '9';
+    }
+
+}
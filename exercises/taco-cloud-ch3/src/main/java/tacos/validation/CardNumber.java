@@ -0,0 +1,33 @@
+package tacos.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * A card number: digits only, passing the Luhn checksum. Accepts the same
+ * values as Hibernate Validator's {@code @CreditCardNumber}, but checks them
+ * in one pass over the characters without building a list of digits.
+ *
+ * {@code null} is valid.
+ */
+@Documented
+@Constraint(validatedBy = CardNumberValidator.class)
+@Target({FIELD, PARAMETER})
+@Retention(RUNTIME)
+public @interface CardNumber {
+
+    String message() default "Not a valid credit card number";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+}
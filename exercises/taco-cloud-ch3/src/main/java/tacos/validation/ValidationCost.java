@@ -0,0 +1,40 @@
+package tacos.validation;
+
+import jakarta.validation.GroupSequence;
+
+/**
+ * Validation groups for {@link tacos.TacoOrder} and {@link tacos.Taco},
+ * from cheapest to most expensive. Every constraint on those classes is in
+ * the default group and in exactly one of these.
+ *
+ * Validating with {@link FailFast} runs the groups in order and stops after
+ * the first one that has a violation, so an order with blank fields never
+ * reaches the format checks, and a malformed one never reaches the card
+ * checksum.
+ */
+public interface ValidationCost {
+
+    /**
+     * Null, blank and size checks.
+     */
+    interface Presence {
+    }
+
+    /**
+     * Character-by-character format checks, such as the expiry date and CVV.
+     */
+    interface Format {
+    }
+
+    /**
+     * Checks that do arithmetic over the whole value, such as the card
+     * number's Luhn checksum.
+     */
+    interface Checksum {
+    }
+
+    @GroupSequence({Presence.class, Format.class, Checksum.class})
+    interface FailFast {
+    }
+
+}
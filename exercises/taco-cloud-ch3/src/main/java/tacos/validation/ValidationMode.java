@@ -0,0 +1,32 @@
+package tacos.validation;
+
+import jakarta.validation.groups.Default;
+
+/**
+ * Which groups orders and tacos are validated with, from
+ * {@code taco.validation.mode}.
+ */
+public enum ValidationMode {
+
+    /**
+     * Every constraint, so every problem is reported at once. The default.
+     */
+    FULL(Default.class),
+
+    /**
+     * The {@link ValidationCost.FailFast} sequence: only the problems in the
+     * cheapest group that has any are reported.
+     */
+    FAIL_FAST(ValidationCost.FailFast.class);
+
+    private final Class<?> group;
+
+    ValidationMode(Class<?> group) {
+        this.group = group;
+    }
+
+    public Class<?>[] groups() {
+        return new Class<?>[] {group};
+    }
+
+}
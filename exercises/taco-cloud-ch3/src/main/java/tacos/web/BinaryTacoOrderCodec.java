@@ -0,0 +1,312 @@
+package tacos.web;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.data.IngredientCatalog;
+
+/**
+ * Compact binary {@link TacoOrderCodec}.
+ *
+ * Numbers are written as variable-length integers, dates as epoch
+ * milliseconds, strings as length-prefixed UTF-8, and null fields only as a
+ * bit in a presence mask. Ingredient ids are written as their position in the
+ * catalog's sorted id list (a one-byte code for any realistic catalog), or as
+ * code 0 followed by the id itself if the catalog doesn't know them.
+ *
+ * Every encoding starts with a fingerprint of the id list it was coded
+ * against. The codec keeps the id lists of the last
+ * {@value #KEPT_DICTIONARIES} catalog versions it has seen, so an order coded
+ * before the catalog changed still decodes to the ingredients it was coded
+ * with. Only a fingerprint the codec has never seen, say from before a
+ * restart, fails to decode, rather than map codes to the wrong ingredients.
+ */
+public class BinaryTacoOrderCodec implements TacoOrderCodec {
+
+    private static final int FORMAT_VERSION = 1;
+
+    static final int KEPT_DICTIONARIES = 16;
+
+    private final IngredientCatalog catalog;
+
+    private volatile Dictionary dictionary;
+
+    // Earlier catalog versions by fingerprint, oldest first
+    private final Map<Integer, Dictionary> dictionaries = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Dictionary> eldest) {
+            return size() > KEPT_DICTIONARIES;
+        }
+    };
+
+    public BinaryTacoOrderCodec(IngredientCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public byte[] encode(TacoOrder order) {
+        Dictionary dict = dictionary();
+        Writer out = new Writer();
+        out.writeByte(FORMAT_VERSION);
+        out.writeInt(dict.fingerprint());
+
+        out.writePresence(order.getId(), order.getPlacedAt(),
+                order.getDeliveryName(), order.getDeliveryStreet(), order.getDeliveryCity(),
+                order.getDeliveryState(), order.getDeliveryZip(),
+                order.getCcNumber(), order.getCcExpiration(), order.getCcCVV());
+        out.writeLong(order.getId());
+        out.writeDate(order.getPlacedAt());
+        out.writeString(order.getDeliveryName());
+        out.writeString(order.getDeliveryStreet());
+        out.writeString(order.getDeliveryCity());
+        out.writeString(order.getDeliveryState());
+        out.writeString(order.getDeliveryZip());
+        out.writeString(order.getCcNumber());
+        out.writeString(order.getCcExpiration());
+        out.writeString(order.getCcCVV());
+
+        List<Taco> tacos = order.getTacos();
+        out.writeVarLong(tacos.size());
+        for (Taco taco : tacos) {
+            out.writePresence(taco.getId(), taco.getCreatedAt(), taco.getName());
+            out.writeLong(taco.getId());
+            out.writeDate(taco.getCreatedAt());
+            out.writeString(taco.getName());
+
+            List<IngredientRef> ingredients = taco.getIngredients();
+            out.writeVarLong(ingredients.size());
+            for (IngredientRef ref : ingredients) {
+                Integer code = dict.codes().get(ref.getIngredient());
+                if (code != null) {
+                    out.writeVarLong(code);
+                } else {
+                    out.writeVarLong(0);
+                    out.writeString(ref.getIngredient());
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public TacoOrder decode(byte[] bytes) {
+        try {
+            Reader in = new Reader(bytes);
+            if (in.readByte() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unknown taco order format");
+            }
+            Dictionary dict = dictionary(in.readInt());
+
+            TacoOrder order = new TacoOrder();
+            long present = in.readVarLong();
+            order.setId(in.readLong(present, 0));
+            order.setPlacedAt(in.readDate(present, 1));
+            order.setDeliveryName(in.readString(present, 2));
+            order.setDeliveryStreet(in.readString(present, 3));
+            order.setDeliveryCity(in.readString(present, 4));
+            order.setDeliveryState(in.readString(present, 5));
+            order.setDeliveryZip(in.readString(present, 6));
+            order.setCcNumber(in.readString(present, 7));
+            order.setCcExpiration(in.readString(present, 8));
+            order.setCcCVV(in.readString(present, 9));
+
+            int tacoCount = in.readCount();
+            for (int t = 0; t < tacoCount; t++) {
+                Taco taco = new Taco();
+                long tacoPresent = in.readVarLong();
+                taco.setId(in.readLong(tacoPresent, 0));
+                taco.setCreatedAt(in.readDate(tacoPresent, 1));
+                taco.setName(in.readString(tacoPresent, 2));
+
+                int ingredientCount = in.readCount();
+                for (int i = 0; i < ingredientCount; i++) {
+                    int code = (int) in.readVarLong();
+                    String id = code == 0 ? in.readString() : dict.ids().get(code - 1);
+                    taco.getIngredients().add(catalog.ref(id));
+                }
+                order.addTaco(taco);
+            }
+            return order;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated taco order", e);
+        }
+    }
+
+    private Dictionary dictionary() {
+        List<String> ids = catalog.ingredientIds();
+        Dictionary dict = dictionary;
+        if (dict == null || dict.ids() != ids) {
+            dict = Dictionary.of(ids);
+            synchronized (dictionaries) {
+                dictionaries.put(dict.fingerprint(), dict);
+            }
+            dictionary = dict;
+        }
+        return dict;
+    }
+
+    private Dictionary dictionary(int fingerprint) {
+        Dictionary current = dictionary();
+        if (current.fingerprint() == fingerprint) {
+            return current;
+        }
+        Dictionary earlier;
+        synchronized (dictionaries) {
+            earlier = dictionaries.get(fingerprint);
+        }
+        if (earlier == null) {
+            throw new IllegalArgumentException(
+                    "Taco order was encoded against an unknown ingredient catalog");
+        }
+        return earlier;
+    }
+
+    private record Dictionary(List<String> ids, Map<String, Integer> codes, int fingerprint) {
+
+        static Dictionary of(List<String> ids) {
+            Map<String, Integer> codes = new HashMap<>();
+            CRC32 crc = new CRC32();
+            for (int i = 0; i < ids.size(); i++) {
+                codes.put(ids.get(i), i + 1);
+                crc.update(ids.get(i).getBytes(StandardCharsets.UTF_8));
+                crc.update(0);
+            }
+            return new Dictionary(ids, codes, (int) crc.getValue());
+        }
+
+    }
+
+    private static class Writer extends ByteArrayOutputStream {
+
+        Writer() {
+            super(128);
+        }
+
+        void writeByte(int b) {
+            write(b);
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writePresence(Object... fields) {
+            long mask = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] != null) {
+                    mask |= 1L << i;
+                }
+            }
+            writeVarLong(mask);
+        }
+
+        void writeLong(Long value) {
+            if (value != null) {
+                // zig-zag, so small negative values stay short too
+                writeVarLong((value << 1) ^ (value >> 63));
+            }
+        }
+
+        void writeDate(Date value) {
+            if (value != null) {
+                writeLong(value.getTime());
+            }
+        }
+
+        void writeString(String value) {
+            if (value != null) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(utf8.length);
+                write(utf8, 0, utf8.length);
+            }
+        }
+
+    }
+
+    private static class Reader {
+
+        private final byte[] bytes;
+        private int pos;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int readByte() {
+            if (pos >= bytes.length) {
+                throw new IndexOutOfBoundsException(pos);
+            }
+            return bytes[pos++] & 0xFF;
+        }
+
+        int readInt() {
+            return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed number in taco order");
+        }
+
+        int readCount() {
+            long count = readVarLong();
+            if (count < 0 || count > bytes.length - pos) {
+                throw new IllegalArgumentException("Malformed count in taco order");
+            }
+            return (int) count;
+        }
+
+        Long readLong(long present, int field) {
+            if ((present & (1L << field)) == 0) {
+                return null;
+            }
+            long zigzag = readVarLong();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        Date readDate(long present, int field) {
+            Long time = readLong(present, field);
+            return time == null ? null : new Date(time);
+        }
+
+        String readString(long present, int field) {
+            return (present & (1L << field)) == 0 ? null : readString();
+        }
+
+        String readString() {
+            int length = readCount();
+            String value = new String(bytes, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,45 @@
+package tacos.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import tacos.data.IngredientCatalog;
+
+/**
+ * Answers conditional GETs for pages that only depend on the ingredient
+ * catalog (the design form and the ingredient listing).
+ *
+ * The strong ETag is built from the catalog's version and the time it last
+ * changed, and Last-Modified is that time. When the client already has the
+ * current version, the 304 goes out here, before any model attributes,
+ * session handling, database access or template rendering. Otherwise the
+ * validators are set on the response and the request carries on as usual.
+ */
+public class CatalogConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final IngredientCatalog catalog;
+
+    public CatalogConditionalGetInterceptor(IngredientCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                             Object handler) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        long lastModified = catalog.lastModified();
+        String etag = "\"" + catalog.version() + "-" + Long.toHexString(lastModified) + "\"";
+
+        // Cached copies must be revalidated, which is what makes the 304s count
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag, lastModified);
+    }
+
+}
@@ -0,0 +1,297 @@
+package tacos.web;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.bind.support.DefaultSessionAttributeStore;
+import org.springframework.web.bind.support.SessionAttributeStore;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import tacos.TacoOrder;
+
+/**
+ * Keeps {@code @SessionAttributes} values that are {@link TacoOrder}s in
+ * encrypted, compressed cookies instead of the HttpSession, so any node can
+ * serve any request without sticky sessions. Other values go to the
+ * HttpSession as usual.
+ *
+ * The order is encoded with a {@link TacoOrderCodec}, deflated, prefixed with
+ * the time it was issued, encrypted with AES-GCM under a key derived from the
+ * secret, and Base64url-encoded with its nonce in front. So the card fields of
+ * an order can't be read from the cookie, and the cookie can't be altered.
+ * Tokens longer than one cookie are split across {@code name} and
+ * {@code name.1}; with the usual 8 KB limit on request headers there's no room
+ * for more, and storing a bigger order fails. A cookie that doesn't decrypt,
+ * or that was issued more than {@code maxAge} ago, is ignored, as if there
+ * were no order yet.
+ */
+public class CookieSessionAttributeStore implements SessionAttributeStore {
+
+    static final int MAX_COOKIE_VALUE = 3800;
+    static final int MAX_CHUNKS = 2;
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int MAX_DECODED = 1 << 20;
+
+    private final SessionAttributeStore fallback = new DefaultSessionAttributeStore();
+    private final SecureRandom random = new SecureRandom();
+    private final TacoOrderCodec codec;
+    private final SecretKeySpec key;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    public CookieSessionAttributeStore(TacoOrderCodec codec, byte[] secret, Duration maxAge) {
+        this(codec, secret, maxAge, Clock.systemUTC());
+    }
+
+    CookieSessionAttributeStore(TacoOrderCodec codec, byte[] secret, Duration maxAge, Clock clock) {
+        this.codec = codec;
+        this.key = new SecretKeySpec(sha256(secret), "AES");
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    @Override
+    public void storeAttribute(WebRequest request, String attributeName, Object attributeValue) {
+        if (!(attributeValue instanceof TacoOrder order)) {
+            fallback.storeAttribute(request, attributeName, attributeValue);
+            return;
+        }
+        request.setAttribute(cacheKey(attributeName), order, RequestAttributes.SCOPE_REQUEST);
+
+        String token = encode(order);
+        int chunks = (token.length() + MAX_COOKIE_VALUE - 1) / MAX_COOKIE_VALUE;
+        if (chunks > MAX_CHUNKS) {
+            throw new IllegalStateException("Order is too large to keep in cookies ("
+                    + token.length() + " characters, at most "
+                    + MAX_CHUNKS * MAX_COOKIE_VALUE + ")");
+        }
+        HttpServletResponse response = response(request);
+        for (int i = 0; i < chunks; i++) {
+            String value = token.substring(i * MAX_COOKIE_VALUE,
+                    Math.min((i + 1) * MAX_COOKIE_VALUE, token.length()));
+            response.addCookie(cookie(request, chunkName(attributeName, i), value, -1));
+        }
+        // Expire chunks left over from a bigger order
+        for (int i = chunks; i < MAX_CHUNKS; i++) {
+            String name = chunkName(attributeName, i);
+            if (findCookie(request, name) == null) {
+                break;
+            }
+            response.addCookie(cookie(request, name, "", 0));
+        }
+    }
+
+    @Override
+    public Object retrieveAttribute(WebRequest request, String attributeName) {
+        Object cached = request.getAttribute(cacheKey(attributeName), RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return cached;
+        }
+        String token = readToken(request, attributeName);
+        if (token == null) {
+            return fallback.retrieveAttribute(request, attributeName);
+        }
+        TacoOrder order = decode(token);
+        if (order != null) {
+            request.setAttribute(cacheKey(attributeName), order, RequestAttributes.SCOPE_REQUEST);
+        }
+        return order;
+    }
+
+    @Override
+    public void cleanupAttribute(WebRequest request, String attributeName) {
+        request.removeAttribute(cacheKey(attributeName), RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse response = response(request);
+        for (int i = 0; i < MAX_CHUNKS; i++) {
+            String name = chunkName(attributeName, i);
+            if (findCookie(request, name) == null) {
+                break;
+            }
+            response.addCookie(cookie(request, name, "", 0));
+        }
+        fallback.cleanupAttribute(request, attributeName);
+    }
+
+    public String encode(TacoOrder order) {
+        byte[] compressed = deflate(codec.encode(order));
+        ByteBuffer plain = ByteBuffer.allocate(Long.BYTES + compressed.length)
+                .putLong(clock.instant().getEpochSecond())
+                .put(compressed);
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        byte[] sealed;
+        try {
+            sealed = cipher(Cipher.ENCRYPT_MODE, nonce).doFinal(plain.array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] token = Arrays.copyOf(nonce, NONCE_LENGTH + sealed.length);
+        System.arraycopy(sealed, 0, token, NONCE_LENGTH, sealed.length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Returns the order in a token, or null if it isn't a token this store
+     * issued or it has expired.
+     */
+    public TacoOrder decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bytes.length <= NONCE_LENGTH + Long.BYTES) {
+            return null;
+        }
+        ByteBuffer plain;
+        try {
+            plain = ByteBuffer.wrap(cipher(Cipher.DECRYPT_MODE, Arrays.copyOf(bytes, NONCE_LENGTH))
+                    .doFinal(bytes, NONCE_LENGTH, bytes.length - NONCE_LENGTH));
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+        Instant issued = Instant.ofEpochSecond(plain.getLong());
+        if (issued.plus(maxAge).isBefore(clock.instant())) {
+            return null;
+        }
+        byte[] compressed = new byte[plain.remaining()];
+        plain.get(compressed);
+        try {
+            return codec.decode(inflate(compressed));
+        } catch (IllegalArgumentException | DataFormatException e) {
+            return null;
+        }
+    }
+
+    private Cipher cipher(int mode, byte[] nonce) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, nonce));
+        return cipher;
+    }
+
+    private static byte[] sha256(byte[] secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required of every JVM", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 16);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) throws DataFormatException {
+        Inflater inflater = new Inflater(true);
+        try {
+            // "nowrap" inflaters want an extra dummy byte after the input
+            inflater.setInput(Arrays.copyOf(bytes, bytes.length + 1));
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated order token");
+                }
+                out.write(buffer, 0, n);
+                if (out.size() > MAX_DECODED) {
+                    throw new DataFormatException("Order token inflates too far");
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String readToken(WebRequest request, String attributeName) {
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < MAX_CHUNKS; i++) {
+            Cookie cookie = findCookie(request, chunkName(attributeName, i));
+            if (cookie == null) {
+                break;
+            }
+            token.append(cookie.getValue());
+        }
+        return token.isEmpty() ? null : token.toString();
+    }
+
+    private static Cookie findCookie(WebRequest request, String name) {
+        Cookie[] cookies = servletRequest(request).getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (cookie.getName().equals(name)) {
+                    return cookie;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Cookie cookie(WebRequest request, String name, String value, int maxAge) {
+        HttpServletRequest servletRequest = servletRequest(request);
+        Cookie cookie = new Cookie(name, value);
+        String contextPath = servletRequest.getContextPath();
+        cookie.setPath(contextPath.isEmpty() ? "/" : contextPath);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(servletRequest.isSecure());
+        cookie.setAttribute("SameSite", "Lax");
+        cookie.setMaxAge(maxAge);
+        return cookie;
+    }
+
+    private static String chunkName(String attributeName, int chunk) {
+        return chunk == 0 ? attributeName : attributeName + "." + chunk;
+    }
+
+    private static String cacheKey(String attributeName) {
+        return CookieSessionAttributeStore.class.getName() + "." + attributeName;
+    }
+
+    private static HttpServletRequest servletRequest(WebRequest request) {
+        return ((NativeWebRequest) request).getNativeRequest(HttpServletRequest.class);
+    }
+
+    private static HttpServletResponse response(WebRequest request) {
+        return ((NativeWebRequest) request).getNativeResponse(HttpServletResponse.class);
+    }
+
+}
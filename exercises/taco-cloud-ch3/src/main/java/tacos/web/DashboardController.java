@@ -0,0 +1,50 @@
+package tacos.web;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import tacos.data.OrderRollups;
+import tacos.data.OrderRollups.HourlyOrders;
+import tacos.data.OrderRollups.IngredientUsage;
+
+/**
+ * Order volume for the last {@code hours} hours (including the current one)
+ * and the {@code top} most used ingredients, as JSON. Both are read from
+ * {@link OrderRollups}, so the cost depends on the window asked for, not on
+ * how many orders there are.
+ */
+@Controller
+public class DashboardController {
+
+    private static final int MAX_HOURS = 7 * 24;
+    private static final int MAX_TOP = 50;
+
+    private final OrderRollups rollups;
+
+    public DashboardController(OrderRollups rollups) {
+        this.rollups = rollups;
+    }
+
+    @GetMapping(path = "/dashboard", produces = "application/json")
+    @ResponseBody
+    public Dashboard dashboard(
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "5") int top) {
+        hours = Math.max(1, Math.min(hours, MAX_HOURS));
+        top = Math.max(1, Math.min(top, MAX_TOP));
+        LocalDateTime to = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        return new Dashboard(
+                rollups.ordersPerHour(to.minusHours(hours), to),
+                rollups.topIngredients(top));
+    }
+
+    public record Dashboard(List<HourlyOrders> ordersPerHour, List<IngredientUsage> topIngredients) {
+    }
+
+}
@@ -1,7 +1,7 @@
 package tacos.web;
 
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.EnumMap;
+import java.util.Map;
 
 import jakarta.validation.Valid;
 
@@ -15,33 +15,42 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.SessionAttributes;
 
-import tacos.Ingredient;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import tacos.Ingredient.Type;
 import tacos.TacoOrder;
 import tacos.Taco;
-import tacos.data.IngredientRepository;
+import tacos.data.IngredientCatalog;
 
 @Controller
 @RequestMapping("/design")
 @SessionAttributes("tacoOrder")
 public class DesignTacoController {
 
-    private final IngredientRepository ingredientRepo;
+    // Built once rather than lower-casing every type name on every request
+    private static final Map<Type, String> ATTRIBUTE_NAMES = new EnumMap<>(Type.class);
+
+    static {
+        for (Type type : Type.values()) {
+            ATTRIBUTE_NAMES.put(type, type.toString().toLowerCase());
+        }
+    }
+
+    private final IngredientCatalog ingredientCatalog;
+
+    private final DistributionSummary ingredientsPerTaco;
 
     @Autowired
     public DesignTacoController(
-            IngredientRepository ingredientRepo) {
-        this.ingredientRepo = ingredientRepo;
+            IngredientCatalog ingredientCatalog, MeterRegistry meterRegistry) {
+        this.ingredientCatalog = ingredientCatalog;
+        this.ingredientsPerTaco = meterRegistry.summary("taco.taco.ingredients");
     }
 
     @ModelAttribute
     public void addIngredientsToModel(Model model) {
-        Iterable<Ingredient> ingredients = ingredientRepo.findAll();
-        Type[] types = Ingredient.Type.values();
-        for (Type type : types) {
-            model.addAttribute(type.toString().toLowerCase(),
-                    filterByType(ingredients, type));
-        }
+        ingredientCatalog.ingredientsByType().forEach((type, ingredients) ->
+                model.addAttribute(ATTRIBUTE_NAMES.get(type), ingredients));
     }
 
     @ModelAttribute(name = "tacoOrder")
@@ -69,15 +78,9 @@ public class DesignTacoController {
         }
 
         tacoOrder.addTaco(taco);
+        ingredientsPerTaco.record(taco.getIngredients().size());
 
         return "redirect:/orders/current";
     }
 
-    private Iterable<Ingredient> filterByType(
-            Iterable<Ingredient> ingredients, Type type) {
-        return StreamSupport.stream(ingredients.spliterator(), false)
-                .filter(i -> i.getType().equals(type))
-                .collect(Collectors.toList());
-    }
-
 }
\ No newline at end of file
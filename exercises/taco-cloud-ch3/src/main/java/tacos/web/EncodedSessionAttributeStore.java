@@ -0,0 +1,76 @@
+package tacos.web;
+
+import org.springframework.web.bind.support.DefaultSessionAttributeStore;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import tacos.TacoOrder;
+
+/**
+ * Keeps {@code @SessionAttributes} values that are {@link TacoOrder}s in the
+ * HttpSession as bytes from a {@link TacoOrderCodec}, rather than as object
+ * graphs. The session then holds one small array per designer, and Tomcat's
+ * session persistence and replication serialize that array instead of the
+ * whole order. Each request decodes the order once.
+ *
+ * An order that can't be decoded is logged, counted in
+ * {@code taco.session.decode.failures} and dropped, so the designer starts a
+ * new one.
+ */
+@Slf4j
+public class EncodedSessionAttributeStore extends DefaultSessionAttributeStore {
+
+    private final TacoOrderCodec codec;
+    private final Counter decodeFailures;
+
+    public EncodedSessionAttributeStore(TacoOrderCodec codec, MeterRegistry meterRegistry) {
+        this.codec = codec;
+        this.decodeFailures = meterRegistry.counter("taco.session.decode.failures");
+    }
+
+    @Override
+    public void storeAttribute(WebRequest request, String attributeName, Object attributeValue) {
+        if (attributeValue instanceof TacoOrder order) {
+            request.setAttribute(cacheKey(attributeName), order, RequestAttributes.SCOPE_REQUEST);
+            super.storeAttribute(request, attributeName, codec.encode(order));
+        } else {
+            super.storeAttribute(request, attributeName, attributeValue);
+        }
+    }
+
+    @Override
+    public Object retrieveAttribute(WebRequest request, String attributeName) {
+        Object cached = request.getAttribute(cacheKey(attributeName), RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return cached;
+        }
+        Object value = super.retrieveAttribute(request, attributeName);
+        if (!(value instanceof byte[] bytes)) {
+            return value;
+        }
+        try {
+            TacoOrder order = codec.decode(bytes);
+            request.setAttribute(cacheKey(attributeName), order, RequestAttributes.SCOPE_REQUEST);
+            return order;
+        } catch (IllegalArgumentException e) {
+            log.warn("Dropping session attribute {} that can't be decoded: {}",
+                    attributeName, e.getMessage());
+            decodeFailures.increment();
+            return null;
+        }
+    }
+
+    @Override
+    public void cleanupAttribute(WebRequest request, String attributeName) {
+        request.removeAttribute(cacheKey(attributeName), RequestAttributes.SCOPE_REQUEST);
+        super.cleanupAttribute(request, attributeName);
+    }
+
+    private static String cacheKey(String attributeName) {
+        return EncodedSessionAttributeStore.class.getName() + "." + attributeName;
+    }
+
+}
@@ -0,0 +1,40 @@
+package tacos.web;
+
+/**
+ * Binds request parameters to one type of form object by calling its setters
+ * directly, for {@link FormDataBinder}.
+ *
+ * {@link #bind} returns false for any field or value it doesn't handle, and
+ * that property goes through the regular reflective binding instead, with its
+ * conversion and error reporting. So a form binder only takes on the values it
+ * converts exactly as the conversion service would, and never records errors.
+ */
+public interface FormBinder<T> {
+
+    Class<T> type();
+
+    /**
+     * Sets {@code field} of {@code target} to {@code value}, if this binder
+     * handles both.
+     *
+     * @return whether the value was bound
+     */
+    boolean bind(T target, String field, Object value);
+
+    /**
+     * Whether {@code value} is a request parameter {@link #text(Object)} can
+     * turn into a String.
+     */
+    static boolean isText(Object value) {
+        return value instanceof String || value instanceof String[];
+    }
+
+    /**
+     * A request parameter as a String property would get it: a single value
+     * as it is and repeated values joined with commas.
+     */
+    static String text(Object value) {
+        return value instanceof String[] values ? String.join(",", values) : (String) value;
+    }
+
+}
@@ -0,0 +1,76 @@
+package tacos.web;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.InitBinderDataBinderFactory;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+/**
+ * Chooses how form posts are bound to {@code Taco} and {@code TacoOrder},
+ * from {@code taco.binding}:
+ *
+ * <ul>
+ *   <li>{@code form} (the default): through the {@link FormBinder} beans,
+ *       which call the setters directly (see {@link FormDataBinder})</li>
+ *   <li>{@code default}: through Spring's binder, which looks up a converter
+ *       and sets each property reflectively</li>
+ * </ul>
+ *
+ * Other form objects are bound by Spring's binder either way.
+ */
+@Configuration
+public class FormBindingConfig {
+
+    @Bean
+    public WebMvcRegistrations formBinding(
+            @Value("${taco.binding:form}") String binding, List<FormBinder<?>> formBinders) {
+        return switch (binding) {
+            case "form" -> new WebMvcRegistrations() {
+                @Override
+                public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                    return new FormBindingHandlerAdapter(formBinders);
+                }
+            };
+            case "default" -> new WebMvcRegistrations() {
+            };
+            default -> throw new IllegalArgumentException(
+                    "Unknown taco.binding: " + binding);
+        };
+    }
+
+    private static class FormBindingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+        private final Map<Class<?>, FormBinder<?>> formBinders = new HashMap<>();
+
+        FormBindingHandlerAdapter(List<FormBinder<?>> formBinders) {
+            formBinders.forEach(binder -> this.formBinders.put(binder.type(), binder));
+        }
+
+        @Override
+        protected InitBinderDataBinderFactory createDataBinderFactory(
+                List<InvocableHandlerMethod> binderMethods) {
+            return new ServletRequestDataBinderFactory(binderMethods, getWebBindingInitializer()) {
+                @Override
+                protected ServletRequestDataBinder createBinderInstance(
+                        Object target, String objectName, NativeWebRequest request) throws Exception {
+                    FormBinder<?> formBinder = target != null ? formBinders.get(target.getClass()) : null;
+                    return formBinder != null
+                            ? new FormDataBinder(target, objectName, formBinder)
+                            : super.createBinderInstance(target, objectName, request);
+                }
+            };
+        }
+
+    }
+
+}
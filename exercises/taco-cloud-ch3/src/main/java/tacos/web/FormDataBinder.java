@@ -0,0 +1,49 @@
+package tacos.web;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyEditorRegistry;
+import org.springframework.beans.PropertyValue;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+/**
+ * Request binder that hands each property value to a {@link FormBinder}
+ * first and leaves only the ones it declines to the property accessor.
+ *
+ * Everything around applying the values works as in the regular binder:
+ * allowed and required fields, field markers and defaults, @InitBinder
+ * methods, validation and the binding result. Fields with a custom editor,
+ * which includes formatters added with {@code addCustomFormatter}, are never
+ * offered to the form binder, so an @InitBinder method that registers one
+ * applies as usual. Values the form binder takes are set before the rest,
+ * which can't change the outcome since it never records errors.
+ */
+public class FormDataBinder extends ExtendedServletRequestDataBinder {
+
+    private final FormBinder<Object> formBinder;
+
+    @SuppressWarnings("unchecked")
+    public FormDataBinder(Object target, String objectName, FormBinder<?> formBinder) {
+        super(target, objectName);
+        this.formBinder = (FormBinder<Object>) formBinder;
+    }
+
+    @Override
+    protected void applyPropertyValues(MutablePropertyValues mpvs) {
+        Object target = getTarget();
+        MutablePropertyValues rest = null;
+        PropertyEditorRegistry editors = getPropertyEditorRegistry();
+        for (PropertyValue pv : mpvs.getPropertyValues()) {
+            if (editors.findCustomEditor(null, pv.getName()) != null
+                    || !formBinder.bind(target, pv.getName(), pv.getValue())) {
+                if (rest == null) {
+                    rest = new MutablePropertyValues();
+                }
+                rest.addPropertyValue(pv);
+            }
+        }
+        if (rest != null) {
+            super.applyPropertyValues(rest);
+        }
+    }
+
+}
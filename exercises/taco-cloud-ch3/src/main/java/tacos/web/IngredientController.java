@@ -0,0 +1,33 @@
+package tacos.web;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.data.IngredientCatalog;
+
+/**
+ * Lists the ingredient catalog as JSON, grouped by type. Conditional GETs are
+ * answered by {@link CatalogConditionalGetInterceptor}.
+ */
+@Controller
+public class IngredientController {
+
+    private final IngredientCatalog ingredientCatalog;
+
+    public IngredientController(IngredientCatalog ingredientCatalog) {
+        this.ingredientCatalog = ingredientCatalog;
+    }
+
+    @GetMapping(path = "/ingredients", produces = "application/json")
+    @ResponseBody
+    public Map<Type, List<Ingredient>> ingredients() {
+        return ingredientCatalog.ingredientsByType();
+    }
+
+}
@@ -0,0 +1,30 @@
+package tacos.web;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import tacos.IngredientRef;
+import tacos.data.IngredientCatalog;
+
+/**
+ * Binds the ingredient ids posted with a taco to the catalog's shared
+ * {@link IngredientRef}s. Without it, the conversion service would find the
+ * IngredientRef(String) constructor and call it reflectively for every id.
+ * Unknown ids still bind, to a new ref, and are left to the Ingredient_Ref
+ * foreign key to reject as before.
+ */
+@Component
+public class IngredientRefByIdConverter implements Converter<String, IngredientRef> {
+
+    private final IngredientCatalog ingredientCatalog;
+
+    public IngredientRefByIdConverter(IngredientCatalog ingredientCatalog) {
+        this.ingredientCatalog = ingredientCatalog;
+    }
+
+    @Override
+    public IngredientRef convert(String id) {
+        return ingredientCatalog.ref(id);
+    }
+
+}
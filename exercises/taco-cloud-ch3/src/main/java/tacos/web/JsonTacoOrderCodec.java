@@ -0,0 +1,39 @@
+package tacos.web;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import tacos.TacoOrder;
+
+/**
+ * {@link TacoOrderCodec} that writes the order as JSON.
+ */
+public class JsonTacoOrderCodec implements TacoOrderCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonTacoOrderCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] encode(TacoOrder order) {
+        try {
+            return objectMapper.writeValueAsBytes(order);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public TacoOrder decode(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, TacoOrder.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not a JSON taco order", e);
+        }
+    }
+
+}
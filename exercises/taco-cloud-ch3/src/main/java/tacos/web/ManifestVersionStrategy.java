@@ -0,0 +1,79 @@
+package tacos.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.AbstractVersionStrategy;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Versions static assets by the content hashes the build wrote to
+ * {@code asset-manifest.properties} (see {@code src/build/java/AssetPipeline.java}),
+ * as {@code name-<md5>.ext}, so nothing is hashed at runtime.
+ *
+ * The hashes are the same MD5s {@link ContentVersionStrategy} would compute,
+ * and that's what is used for anything missing from the manifest, such as
+ * when the application is run without the Maven build.
+ */
+@Slf4j
+public class ManifestVersionStrategy extends AbstractVersionStrategy {
+
+    static final String MANIFEST = "asset-manifest.properties";
+
+    private final Properties manifest;
+    private final String location;
+    private final ContentVersionStrategy fallback = new ContentVersionStrategy();
+
+    /**
+     * @param location classpath location the assets are served from, such as {@code static/}
+     */
+    public ManifestVersionStrategy(String location) {
+        super(new FileNameVersionPathStrategy() {});
+        this.location = location;
+        this.manifest = load();
+    }
+
+    @Override
+    public String getResourceVersion(Resource resource) {
+        if (resource instanceof ClassPathResource classPathResource
+                && classPathResource.getPath().startsWith(location)) {
+            String version = manifest.getProperty(classPathResource.getPath().substring(location.length()));
+            if (version != null) {
+                return version;
+            }
+        }
+        return fallback.getResourceVersion(resource);
+    }
+
+    /**
+     * Whether a request path (relative to the resource handler) names an
+     * asset by its current fingerprint, making the response safe to cache
+     * forever.
+     */
+    public boolean isFingerprinted(String path) {
+        String version = extractVersion(path);
+        return version != null && version.equals(manifest.getProperty(removeVersion(path, version)));
+    }
+
+    private static Properties load() {
+        Properties manifest = new Properties();
+        ClassPathResource resource = new ClassPathResource(MANIFEST);
+        if (!resource.exists()) {
+            log.warn("No {} on the classpath; static assets will be hashed at runtime", MANIFEST);
+            return manifest;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            manifest.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return manifest;
+    }
+
+}
@@ -9,18 +9,23 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.SessionAttributes;
 import org.springframework.web.bind.support.SessionStatus;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import tacos.TacoOrder;
-import tacos.data.OrderRepository;
+import tacos.data.OrderIngestion;
 
 @Controller
 @RequestMapping("/orders")
 @SessionAttributes("tacoOrder")
 public class OrderController {
 
-    private OrderRepository orderRepo;
+    private OrderIngestion orderIngestion;
 
-    public OrderController(OrderRepository orderRepo) {
-        this.orderRepo = orderRepo;
+    private final DistributionSummary tacosPerOrder;
+
+    public OrderController(OrderIngestion orderIngestion, MeterRegistry meterRegistry) {
+        this.orderIngestion = orderIngestion;
+        this.tacosPerOrder = meterRegistry.summary("taco.order.tacos");
     }
 
     @GetMapping("/current")
@@ -34,7 +39,8 @@ public class OrderController {
             return "orderForm";
         }
 
-        orderRepo.save(order);
+        orderIngestion.submit(order);
+        tacosPerOrder.record(order.getTacos().size());
         sessionStatus.setComplete();
 
         return "redirect:/";
@@ -0,0 +1,63 @@
+package tacos.web;
+
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import tacos.data.OrderExporter;
+import tacos.data.OrderExporter.Format;
+
+/**
+ * Streams every order as NDJSON ({@code ?format=ndjson}, the default) or CSV
+ * ({@code ?format=csv}) straight into the response, gzipped when the client
+ * accepts it. Any other format is a 400. See {@link OrderExporter}.
+ */
+@Controller
+public class OrderExportController {
+
+    private final OrderExporter exporter;
+
+    public OrderExportController(OrderExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @GetMapping("/orders/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Format exportFormat;
+        try {
+            exportFormat = Format.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + exportFormat.extension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> {
+            if (gzip) {
+                GZIPOutputStream zipped = new GZIPOutputStream(out, 64 * 1024);
+                exporter.export(exportFormat, zipped);
+                zipped.finish();
+            } else {
+                exporter.export(exportFormat, out);
+            }
+        });
+    }
+
+}
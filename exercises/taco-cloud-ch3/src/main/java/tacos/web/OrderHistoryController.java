@@ -0,0 +1,55 @@
+package tacos.web;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import tacos.TacoOrder;
+import tacos.data.OrderRepository;
+
+/**
+ * Browses placed orders newest first, one page at a time.
+ *
+ * The link to the next page carries the placedAt (as epoch millis) and id of
+ * the last order shown, and the repository picks up from there by keyset, so
+ * only the requested page is ever read.
+ */
+@Controller
+@RequestMapping("/orders/history")
+public class OrderHistoryController {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderRepository orderRepo;
+
+    public OrderHistoryController(OrderRepository orderRepo) {
+        this.orderRepo = orderRepo;
+    }
+
+    @GetMapping
+    public String orderHistory(
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            Model model) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Date placedBefore = before != null && beforeId != null ? new Date(before) : null;
+
+        List<TacoOrder> orders = orderRepo.findHistoryPage(placedBefore, beforeId, pageSize);
+        model.addAttribute("orders", orders);
+        model.addAttribute("pageSize", pageSize);
+        if (orders.size() == pageSize) {
+            TacoOrder last = orders.get(orders.size() - 1);
+            model.addAttribute("nextBefore", last.getPlacedAt().getTime());
+            model.addAttribute("nextBeforeId", last.getId());
+        }
+        return "orderHistory";
+    }
+
+}
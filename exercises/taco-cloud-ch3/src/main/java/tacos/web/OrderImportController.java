@@ -0,0 +1,33 @@
+package tacos.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import tacos.data.OrderImportReport;
+import tacos.data.OrderImporter;
+
+/**
+ * Accepts a batch of orders as an NDJSON request body and answers with an
+ * {@link OrderImportReport}. The body is read as a stream while it arrives;
+ * see {@link OrderImporter}.
+ */
+@Controller
+public class OrderImportController {
+
+    private final OrderImporter importer;
+
+    public OrderImportController(OrderImporter importer) {
+        this.importer = importer;
+    }
+
+    @PostMapping(path = "/orders/import", consumes = "application/x-ndjson")
+    @ResponseBody
+    public OrderImportReport importOrders(InputStream body) throws IOException {
+        return importer.importOrders(body);
+    }
+
+}
@@ -0,0 +1,105 @@
+package tacos.web;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.validation.BindingResult;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import tacos.web.RequestPhases.Phase;
+
+/**
+ * Times each controller request as {@code taco.request}, tagged with the
+ * handler method and an outcome of ok, invalid (the model has binding or
+ * validation errors), not_modified (a later interceptor answered 304) or
+ * error, and breaks it down into
+ * {@code taco.request.phase} timers per {@link Phase}.
+ */
+public class RequestPhaseInterceptor implements HandlerInterceptor {
+
+    private static final String START = RequestPhaseInterceptor.class.getName() + ".start";
+    private static final String HANDLED = RequestPhaseInterceptor.class.getName() + ".handled";
+    private static final String OUTCOME = RequestPhaseInterceptor.class.getName() + ".outcome";
+
+    private final MeterRegistry registry;
+
+    public RequestPhaseInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                             Object handler) {
+        if (handler instanceof HandlerMethod) {
+            RequestPhases.current(true);
+            request.setAttribute(START, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response,
+                           Object handler, ModelAndView modelAndView) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(HANDLED, System.nanoTime());
+            request.setAttribute(OUTCOME, hasErrors(modelAndView) ? "invalid" : "ok");
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod method) || request.getAttribute(START) == null) {
+            return;
+        }
+        long end = System.nanoTime();
+        long start = (Long) request.getAttribute(START);
+        Long handled = (Long) request.getAttribute(HANDLED);
+        String outcome = ex != null ? "error"
+                : handled != null ? (String) request.getAttribute(OUTCOME)
+                : response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED ? "not_modified"
+                : "error";
+        String handlerName = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+
+        Timer.builder("taco.request")
+                .tag("handler", handlerName)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(end - start, TimeUnit.NANOSECONDS);
+
+        Map<Phase, Long> phases = RequestPhases.current(true);
+        if (handled != null) {
+            phases.merge(Phase.RENDERING, end - handled, Long::sum);
+        }
+        long measured = phases.getOrDefault(Phase.VALIDATION, 0L)
+                + phases.getOrDefault(Phase.PERSISTENCE, 0L);
+        long binding = (handled != null ? handled : end) - start - measured;
+        phases.put(Phase.BINDING, Math.max(binding, 0));
+
+        phases.forEach((phase, nanos) -> Timer.builder("taco.request.phase")
+                .tag("handler", handlerName)
+                .tag("phase", phase.name().toLowerCase())
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    private static boolean hasErrors(ModelAndView modelAndView) {
+        if (modelAndView == null) {
+            return false;
+        }
+        for (Object value : modelAndView.getModel().values()) {
+            if (value instanceof BindingResult result && result.hasErrors()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
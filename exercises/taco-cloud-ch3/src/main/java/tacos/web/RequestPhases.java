@@ -0,0 +1,55 @@
+package tacos.web;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Time spent in each phase of the current request, kept as a request
+ * attribute. Code that runs during a request adds to a phase with
+ * {@link #add(Phase, long)}; {@link RequestPhaseInterceptor} publishes the
+ * totals when the request completes.
+ */
+public final class RequestPhases {
+
+    public enum Phase {
+        /** Argument binding and the handler method itself */
+        BINDING,
+        VALIDATION,
+        PERSISTENCE,
+        RENDERING
+    }
+
+    private static final String ATTRIBUTE = RequestPhases.class.getName();
+
+    private RequestPhases() {
+    }
+
+    /**
+     * Adds time to a phase of the current request; does nothing outside a request.
+     */
+    public static void add(Phase phase, long nanos) {
+        Map<Phase, Long> phases = current(false);
+        if (phases != null) {
+            phases.merge(phase, nanos, Long::sum);
+        }
+    }
+
+    static Map<Phase, Long> current(boolean create) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Phase, Long> phases = (Map<Phase, Long>)
+                request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (phases == null && create) {
+            phases = new EnumMap<>(Phase.class);
+            request.setAttribute(ATTRIBUTE, phases, RequestAttributes.SCOPE_REQUEST);
+        }
+        return phases;
+    }
+
+}
@@ -0,0 +1,100 @@
+package tacos.web;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.support.DefaultSessionAttributeStore;
+import org.springframework.web.bind.support.SessionAttributeStore;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import tacos.data.IngredientCatalog;
+
+/**
+ * Chooses where the in-progress {@code tacoOrder} lives between requests,
+ * from {@code taco.session.store}:
+ *
+ * <ul>
+ *   <li>{@code http-session} (the default): in the HttpSession, as objects</li>
+ *   <li>{@code encoded-session}: in the HttpSession, as encoded bytes
+ *       (see {@link EncodedSessionAttributeStore})</li>
+ *   <li>{@code cookie}: in AES-GCM encrypted cookies, at most two per order,
+ *       so nothing is kept on the server
+ *       (see {@link CookieSessionAttributeStore})</li>
+ * </ul>
+ *
+ * {@code taco.session.codec} picks the encoding for the last two: {@code binary}
+ * (the default, see {@link BinaryTacoOrderCodec}) or {@code json}.
+ *
+ * In cookie mode every node must share the same
+ * {@code taco.session.cookie-secret}; without one, a random secret is used and
+ * orders don't survive a restart. Order cookies older than
+ * {@code taco.session.cookie-max-age} (two hours by default) are ignored.
+ */
+@Slf4j
+@Configuration
+public class SessionStoreConfig {
+
+    @Bean
+    public TacoOrderCodec sessionTacoOrderCodec(
+            @Value("${taco.session.codec:binary}") String codec,
+            IngredientCatalog catalog, ObjectMapper objectMapper) {
+        return switch (codec) {
+            case "binary" -> new BinaryTacoOrderCodec(catalog);
+            case "json" -> new JsonTacoOrderCodec(objectMapper);
+            default -> throw new IllegalArgumentException(
+                    "Unknown taco.session.codec: " + codec);
+        };
+    }
+
+    @Bean
+    public SessionAttributeStore sessionAttributeStore(
+            @Value("${taco.session.store:http-session}") String store,
+            @Value("${taco.session.cookie-secret:}") String secret,
+            @Value("${taco.session.cookie-max-age:PT2H}") Duration cookieMaxAge,
+            TacoOrderCodec sessionTacoOrderCodec, MeterRegistry meterRegistry) {
+        return switch (store) {
+            case "http-session" -> new DefaultSessionAttributeStore();
+            case "encoded-session" -> new EncodedSessionAttributeStore(
+                    sessionTacoOrderCodec, meterRegistry);
+            case "cookie" -> new CookieSessionAttributeStore(
+                    sessionTacoOrderCodec, cookieKey(secret), cookieMaxAge);
+            default -> throw new IllegalArgumentException(
+                    "Unknown taco.session.store: " + store);
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor sessionAttributeStoreInstaller(
+            ObjectProvider<SessionAttributeStore> store) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter adapter) {
+                    adapter.setSessionAttributeStore(store.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static byte[] cookieKey(String secret) {
+        if (!secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("No taco.session.cookie-secret set; using a random one for this node");
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+}
@@ -0,0 +1,75 @@
+package tacos.web;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+/**
+ * Serves {@code static/} through a resource chain that replaces Boot's default
+ * mapping ({@code spring.web.resources.add-mappings=false}).
+ *
+ * <ul>
+ *   <li>Links written with {@code @{...}} in templates are rewritten to
+ *       fingerprinted names by {@link ResourceUrlEncodingFilter}, using the
+ *       build-time hashes in {@link ManifestVersionStrategy}.</li>
+ *   <li>The {@code .br} and {@code .gz} files made by the build are sent as they
+ *       are to clients that accept them, so nothing is compressed per request.</li>
+ *   <li>Fingerprinted URLs are cached for a year as immutable; plain URLs must
+ *       be revalidated.</li>
+ * </ul>
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    private static final String LOCATION = "static/";
+
+    private final ManifestVersionStrategy versionStrategy = new ManifestVersionStrategy(LOCATION);
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/" + LOCATION)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addVersionStrategy(versionStrategy, "/**"));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                                     Object handler) {
+                if (handler instanceof ResourceHttpRequestHandler) {
+                    String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+                    CacheControl cacheControl = path != null && versionStrategy.isFingerprinted(path)
+                            ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                            : CacheControl.noCache();
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+                }
+                return true;
+            }
+        });
+    }
+
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+}
@@ -0,0 +1,80 @@
+package tacos.web;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.data.IngredientCatalog;
+
+/**
+ * Binds the design form's name and ingredients. Ingredient ids go straight to
+ * the catalog's shared refs, the way {@link IngredientRefByIdConverter} would
+ * convert them: a single parameter is split on commas and trimmed, repeated
+ * ones are taken as they are.
+ */
+@Component
+public class TacoFormBinder implements FormBinder<Taco> {
+
+    private final IngredientCatalog ingredientCatalog;
+
+    public TacoFormBinder(IngredientCatalog ingredientCatalog) {
+        this.ingredientCatalog = ingredientCatalog;
+    }
+
+    @Override
+    public Class<Taco> type() {
+        return Taco.class;
+    }
+
+    @Override
+    public boolean bind(Taco taco, String field, Object value) {
+        switch (field) {
+            case "name" -> {
+                if (!FormBinder.isText(value)) {
+                    return false;
+                }
+                taco.setName(FormBinder.text(value));
+                return true;
+            }
+            case "ingredients" -> {
+                List<IngredientRef> ingredients = ingredients(value);
+                if (ingredients == null) {
+                    return false;
+                }
+                taco.setIngredients(ingredients);
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    private List<IngredientRef> ingredients(Object value) {
+        if (value instanceof String ids) {
+            List<IngredientRef> ingredients = new ArrayList<>();
+            for (String id : StringUtils.commaDelimitedListToStringArray(ids)) {
+                ingredients.add(ingredientCatalog.ref(id.trim()));
+            }
+            return ingredients;
+        }
+        if (value instanceof String[] ids) {
+            List<IngredientRef> ingredients = new ArrayList<>(ids.length);
+            for (String id : ids) {
+                ingredients.add(ingredientCatalog.ref(id));
+            }
+            return ingredients;
+        }
+        // The empty list a missing _ingredients field marker stands for
+        if (value instanceof Collection<?> ids && ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,18 @@
+package tacos.web;
+
+import tacos.TacoOrder;
+
+/**
+ * Turns an in-progress {@link TacoOrder}, with its tacos, into bytes and back,
+ * for keeping it outside the server's heap between requests.
+ */
+public interface TacoOrderCodec {
+
+    byte[] encode(TacoOrder order);
+
+    /**
+     * @throws IllegalArgumentException if the bytes aren't a valid encoding
+     */
+    TacoOrder decode(byte[] bytes);
+
+}
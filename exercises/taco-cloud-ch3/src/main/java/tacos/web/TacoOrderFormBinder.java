@@ -0,0 +1,40 @@
+package tacos.web;
+
+import org.springframework.stereotype.Component;
+
+import tacos.TacoOrder;
+
+/**
+ * Binds the delivery and payment fields of the order form.
+ */
+@Component
+public class TacoOrderFormBinder implements FormBinder<TacoOrder> {
+
+    @Override
+    public Class<TacoOrder> type() {
+        return TacoOrder.class;
+    }
+
+    @Override
+    public boolean bind(TacoOrder order, String field, Object value) {
+        if (!FormBinder.isText(value)) {
+            return false;
+        }
+        String text = FormBinder.text(value);
+        switch (field) {
+            case "deliveryName" -> order.setDeliveryName(text);
+            case "deliveryStreet" -> order.setDeliveryStreet(text);
+            case "deliveryCity" -> order.setDeliveryCity(text);
+            case "deliveryState" -> order.setDeliveryState(text);
+            case "deliveryZip" -> order.setDeliveryZip(text);
+            case "ccNumber" -> order.setCcNumber(text);
+            case "ccExpiration" -> order.setCcExpiration(text);
+            case "ccCVV" -> order.setCcCVV(text);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,51 @@
+package tacos.web;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+import tacos.web.RequestPhases.Phase;
+
+/**
+ * MVC validator that delegates to the application's Bean Validation
+ * validator and adds the time it takes to the request's
+ * {@link Phase#VALIDATION} phase.
+ *
+ * Targets of a plain {@code @Valid} are validated with the given default
+ * groups; {@code @Validated} groups are passed on unchanged.
+ */
+public class TimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+    private final Object[] defaultGroups;
+
+    public TimedValidator(SmartValidator delegate, Class<?>... defaultGroups) {
+        this.delegate = delegate;
+        this.defaultGroups = defaultGroups;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        long start = System.nanoTime();
+        try {
+            delegate.validate(target, errors, defaultGroups);
+        } finally {
+            RequestPhases.add(Phase.VALIDATION, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        long start = System.nanoTime();
+        try {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            RequestPhases.add(Phase.VALIDATION, System.nanoTime() - start);
+        }
+    }
+
+}
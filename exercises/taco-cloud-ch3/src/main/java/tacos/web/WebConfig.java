@@ -1,9 +1,18 @@
 package tacos.web;
 
+import jakarta.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import tacos.data.IngredientCatalog;
+import tacos.validation.ValidationMode;
+
 /**
  * Spring MVC configuration class.
  *
@@ -14,6 +23,20 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final MeterRegistry meterRegistry;
+    private final Validator validator;
+    private final IngredientCatalog ingredientCatalog;
+    private final ValidationMode validationMode;
+
+    public WebConfig(MeterRegistry meterRegistry, Validator validator,
+                     IngredientCatalog ingredientCatalog,
+                     @Value("${taco.validation.mode:full}") ValidationMode validationMode) {
+        this.meterRegistry = meterRegistry;
+        this.validator = validator;
+        this.ingredientCatalog = ingredientCatalog;
+        this.validationMode = validationMode;
+    }
+
     /**
      * Registers simple automated view controllers.
      *
@@ -28,4 +51,31 @@ public class WebConfig implements WebMvcConfigurer {
         // When users visit "/", Spring forwards them to home.html (or other view resolver result).
         registry.addViewController("/").setViewName("home");
     }
+
+    /**
+     * Registers the interceptor that times each request and its phases
+     * (binding, validation, persistence, rendering) in Micrometer, and the one
+     * that answers conditional GETs for the pages built from the ingredient
+     * catalog.
+     *
+     * @param registry The registry to add interceptors to.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestPhaseInterceptor(meterRegistry));
+        registry.addInterceptor(new CatalogConditionalGetInterceptor(ingredientCatalog))
+                .addPathPatterns("/design", "/ingredients");
+    }
+
+    /**
+     * Supplies the validator used for @Valid handler arguments.
+     *
+     * It's the regular Bean Validation validator, wrapped so that the time spent
+     * validating is counted as the validation phase of the request, and so
+     * that @Valid uses the groups of {@code taco.validation.mode}.
+     */
+    @Override
+    public org.springframework.validation.Validator getValidator() {
+        return new TimedValidator(new SpringValidatorAdapter(validator), validationMode.groups());
+    }
 }
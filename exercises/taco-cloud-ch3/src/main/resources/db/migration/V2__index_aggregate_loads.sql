@@ -0,0 +1,8 @@
+-- Loading an order aggregate reads its tacos by (taco_order, taco_order_key)
+-- and each taco's ingredients by (taco, taco_key). Both indexes carry every
+-- column of their table, so those reads never touch the table rows.
+create index Taco_By_Order
+    on Taco (taco_order, taco_order_key, id, name, created_at);
+
+create index Ingredient_Ref_By_Taco
+    on Ingredient_Ref (taco, taco_key, ingredient);
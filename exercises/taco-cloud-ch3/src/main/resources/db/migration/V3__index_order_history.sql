@@ -0,0 +1,4 @@
+-- Order history pages walk Taco_Order newest first by (placed_at, id), so
+-- each page is an index range read no matter how far back it starts.
+create index Taco_Order_By_Placed_At
+    on Taco_Order (placed_at, id);
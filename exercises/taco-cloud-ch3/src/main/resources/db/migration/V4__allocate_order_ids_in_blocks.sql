@@ -0,0 +1,12 @@
+-- Order and taco ids are assigned by the application before insert (see
+-- HiLoIdGenerator), so a whole aggregate can be written without waiting for
+-- generated keys. Each sequence value is the first id of a block that one node
+-- hands out from memory; the increment is the block size.
+alter table Taco_Order alter column id drop identity;
+alter table Taco alter column id drop identity;
+
+create sequence Taco_Order_Id_Seq start with 1 increment by 50;
+create sequence Taco_Id_Seq start with 1 increment by 50;
+
+alter sequence Taco_Order_Id_Seq restart with (select coalesce(max(id), 0) + 1 from Taco_Order);
+alter sequence Taco_Id_Seq restart with (select coalesce(max(id), 0) + 1 from Taco);
@@ -0,0 +1,7 @@
+-- The version of each seed file that was last applied, so an unchanged seed
+-- costs one lookup at startup (see IngredientSeeder).
+create table if not exists Seed_Version (
+    name varchar(50) primary key,
+    version varchar(64) not null,
+    applied_at timestamp not null
+    );
@@ -0,0 +1,31 @@
+-- Running totals for the dashboard, kept up to date by OrderRollups in the
+-- transaction that saves each order. Every total is split over a few stripe
+-- rows, so concurrent orders in the same hour or with the same ingredient
+-- usually update different rows; readers add the stripes up.
+create table if not exists Order_Rollup_Hourly (
+    placed_hour timestamp not null,
+    stripe int not null,
+    orders bigint not null,
+    tacos bigint not null,
+    primary key (placed_hour, stripe)
+    );
+
+create table if not exists Ingredient_Usage (
+    ingredient varchar(4) not null,
+    stripe int not null,
+    uses bigint not null,
+    primary key (ingredient, stripe)
+    );
+
+-- Totals for the orders placed before this migration, all in stripe 0
+insert into Order_Rollup_Hourly (placed_hour, stripe, orders, tacos)
+select date_trunc('HOUR', o.placed_at), 0, count(*), sum(coalesce(t.tacos, 0))
+from Taco_Order o
+left join (select taco_order, count(*) tacos from Taco group by taco_order) t
+    on t.taco_order = o.id
+group by date_trunc('HOUR', o.placed_at);
+
+insert into Ingredient_Usage (ingredient, stripe, uses)
+select ingredient, 0, count(*)
+from Ingredient_Ref
+group by ingredient;
@@ -0,0 +1,21 @@
+-- Each ingredient gets a bit position once it is in the Ingredient table (see
+-- IngredientBits). Positions are never reused or moved, even after the
+-- ingredient is deleted, so a stored mask means the same ingredients for as
+-- long as the table exists. That is also why there is no foreign key.
+create table if not exists Ingredient_Bit (
+    ingredient varchar(4) primary key,
+    bit int not null unique
+    );
+
+insert into Ingredient_Bit (ingredient, bit)
+select id, row_number() over (order by id) - 1
+from Ingredient;
+
+-- Bit n of the mask set means the ingredient at bit n is on the taco. Null
+-- means the taco's ingredients are Ingredient_Ref rows, as before.
+alter table Taco add column ingredient_mask bigint;
+
+-- Keep the aggregate load of a taco an index-only read
+drop index Taco_By_Order;
+create index Taco_By_Order
+    on Taco (taco_order, taco_order_key, id, name, created_at, ingredient_mask);
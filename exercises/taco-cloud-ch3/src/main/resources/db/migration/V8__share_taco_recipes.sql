@@ -0,0 +1,22 @@
+-- One row per distinct set of ingredients, shared by every taco made of it
+-- (see TacoRecipes). The id is derived from the sorted ingredient ids, so a
+-- taco can be pointed at its recipe without looking it up first.
+create table if not exists Taco_Recipe (
+    id bigint primary key,
+    ingredients varchar(1000) not null
+    );
+
+-- Null unless the taco was written with taco.tacos.ingredient-storage=recipe
+-- or moved over by RecipeMigrationRunner
+alter table Taco add column recipe bigint;
+
+alter table Taco
+    add foreign key (recipe) references Taco_Recipe(id);
+
+drop index Taco_By_Order;
+create index Taco_By_Order
+    on Taco (taco_order, taco_order_key, id, name, created_at, ingredient_mask, recipe);
+
+-- Lets RecipeMigrationRunner walk the tacos that still have Ingredient_Ref rows
+create index Taco_Without_Recipe
+    on Taco (recipe, ingredient_mask, id);
@@ -0,0 +1,5 @@
+delete from Ingredient_Ref;
+delete from Taco;
+delete from Taco_Order;
+delete from Order_Rollup_Hourly;
+delete from Ingredient_Usage;
@@ -0,0 +1,56 @@
+package tacos;
+
+/**
+ * Orders and tacos for tests. Every order has the same valid delivery and
+ * payment details, so tests only spell out what they care about.
+ */
+public final class TestOrders {
+
+    private TestOrders() {
+    }
+
+    /**
+     * A valid order for "Test McTest", without tacos.
+     */
+    public static TacoOrder order() {
+        return order("Test McTest");
+    }
+
+    /**
+     * A valid order for the given name, without tacos.
+     */
+    public static TacoOrder order(String deliveryName) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName(deliveryName);
+        order.setDeliveryStreet("1234 Test Lane");
+        order.setDeliveryCity("Testville");
+        order.setDeliveryState("CO");
+        order.setDeliveryZip("80123");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("10/29");
+        order.setCcCVV("123");
+        return order;
+    }
+
+    /**
+     * A valid order for "Test McTest" with {@code tacoCount} tacos, named
+     * "Taco number 0" and so on, each with the given ingredients.
+     */
+    public static TacoOrder order(int tacoCount, String... ingredientIds) {
+        TacoOrder order = order();
+        for (int i = 0; i < tacoCount; i++) {
+            order.addTaco(taco("Taco number " + i, ingredientIds));
+        }
+        return order;
+    }
+
+    public static Taco taco(String name, String... ingredientIds) {
+        Taco taco = new Taco();
+        taco.setName(name);
+        for (String id : ingredientIds) {
+            taco.getIngredients().add(new IngredientRef(id));
+        }
+        return taco;
+    }
+
+}
@@ -0,0 +1,93 @@
+package tacos.data;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tacos.TestOrders.order;
+import static tacos.TestOrders.taco;
+
+@SpringBootTest
+public class HiLoIdGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Test
+    public void nodesSharingASequenceNeverHandOutTheSameId() throws Exception {
+        // Two generators on one sequence stand in for two application nodes
+        List<HiLoIdGenerator> nodes = List.of(
+                new HiLoIdGenerator(jdbc, "Taco_Order_Id_Seq"),
+                new HiLoIdGenerator(jdbc, "Taco_Order_Id_Seq"));
+        assertThat(nodes.get(0).getBlockSize()).isEqualTo(50);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            HiLoIdGenerator node = nodes.get(t % 2);
+            Callable<List<Long>> allocate = () -> {
+                List<Long> allocated = new ArrayList<>();
+                for (int i = 0; i < 1_000; i++) {
+                    allocated.add(node.nextId());
+                }
+                return allocated;
+            };
+            results.add(pool.submit(allocate));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Future<List<Long>> result : results) {
+            ids.addAll(result.get());
+        }
+        pool.shutdown();
+
+        assertThat(ids).hasSize(8_000);
+        // 4,000 ids per node is 80 blocks, and at most one more per node for
+        // the block each was part-way through
+        for (HiLoIdGenerator node : nodes) {
+            assertThat(node.getBlocksReserved()).isBetween(80L, 81L);
+        }
+    }
+
+    @Test
+    public void plainSaveGetsIdsFromTheAllocator() {
+        TacoOrder order = order(1, "FLTO");
+
+        TacoOrder saved = orderRepo.save(order);
+
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getTacos().get(0).getId()).isNotNull();
+        assertThat(orderRepo.findById(saved.getId()).orElseThrow().getTacos())
+                .isEqualTo(saved.getTacos());
+    }
+
+    @Test
+    public void tacoAddedToASavedOrderGetsAnId() {
+        TacoOrder saved = orderRepo.save(order(1, "FLTO"));
+        TacoOrder loaded = orderRepo.findById(saved.getId()).orElseThrow();
+        loaded.addTaco(taco("Added taco", "COTO", "CHED"));
+
+        orderRepo.save(loaded);
+
+        assertThat(loaded.getTacos()).extracting(Taco::getId).doesNotContainNull();
+        assertThat(orderRepo.findById(saved.getId()).orElseThrow().getTacos())
+                .isEqualTo(loaded.getTacos());
+    }
+
+}
@@ -0,0 +1,135 @@
+package tacos.data;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tacos.TestOrders.order;
+
+@SpringBootTest(properties = "taco.tacos.ingredient-storage=bitmask")
+@Import(StatementCounter.Config.class)
+public class IngredientBitsTest {
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private IngredientBits bits;
+
+    @Autowired
+    private OrderExporter exporter;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private StatementCounter statements;
+
+    @Autowired
+    private OrderIdAllocator ids;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Test
+    public void writesOneRowPerTaco() {
+        TacoOrder order = order(40, "FLTO", "GRBF", "CHED", "SLSA");
+        long refs = count("Ingredient_Ref");
+        // Loads the bit positions
+        bits.encode(List.of());
+
+        statements.reset();
+        long blocks = ids.getBlocksReserved();
+        orderRepo.insertBatched(order);
+
+        // Taco_Order and Taco, then the two rollup batches; no Ingredient_Ref batch
+        assertThat(statements.get() - (ids.getBlocksReserved() - blocks)).isEqualTo(4);
+        assertThat(count("Ingredient_Ref")).isEqualTo(refs);
+
+        statements.reset();
+        TacoOrder loaded = orderRepo.findById(order.getId()).orElseThrow();
+        // Taco_Order and Taco only
+        assertThat(statements.get()).isEqualTo(2);
+        assertThat(loaded.getTacos()).hasSize(40).allSatisfy(taco ->
+                assertThat(taco.getIngredients()).extracting(IngredientRef::getIngredient)
+                        .containsExactlyInAnyOrder("FLTO", "GRBF", "CHED", "SLSA"));
+    }
+
+    @Test
+    public void writesRowsForTacosAMaskCantHold() {
+        TacoOrder order = order(1, "FLTO", "CHED");
+        Taco doubleCheese = new Taco();
+        doubleCheese.setName("Double cheese");
+        doubleCheese.getIngredients().addAll(List.of(
+                new IngredientRef("CHED"), new IngredientRef("FLTO"), new IngredientRef("CHED")));
+        order.addTaco(doubleCheese);
+        long refs = count("Ingredient_Ref");
+
+        orderRepo.insertBatched(order);
+
+        assertThat(count("Ingredient_Ref")).isEqualTo(refs + 3);
+        TacoOrder loaded = orderRepo.findById(order.getId()).orElseThrow();
+        assertThat(loaded.getTacos().get(1).getIngredients())
+                .isEqualTo(doubleCheese.getIngredients());
+        assertThat(loaded.getTacos().get(0).getIngredients()).extracting(IngredientRef::getIngredient)
+                .containsExactlyInAnyOrder("FLTO", "CHED");
+    }
+
+    @Test
+    public void writesRowsForIngredientsPastBit63() {
+        // Rolled back, so the extra ingredient never reaches other tests
+        try {
+            transactions.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                jdbc.update("insert into Ingredient (id, name, type) values ('ZZZZ', 'Zesty', 'SAUCE')");
+                jdbc.update("insert into Ingredient_Bit (ingredient, bit) values ('ZZZZ', 64)");
+                bits.refresh();
+
+                assertThat(bits.encode(List.of(new IngredientRef("FLTO")))).isNotNull();
+                assertThat(bits.encode(List.of(new IngredientRef("FLTO"), new IngredientRef("ZZZZ"))))
+                        .isNull();
+
+                TacoOrder order = order(1, "FLTO", "ZZZZ");
+                long refs = count("Ingredient_Ref");
+                orderRepo.insertBatched(order);
+
+                assertThat(count("Ingredient_Ref")).isEqualTo(refs + 2);
+                assertThat(orderRepo.findById(order.getId()).orElseThrow().getTacos())
+                        .isEqualTo(order.getTacos());
+            });
+        } finally {
+            bits.refresh();
+        }
+    }
+
+    @Test
+    public void exportsMaskedTacos() throws Exception {
+        TacoOrder order = orderRepo.insertBatched(order(1, "COTO", "LETC"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(OrderExporter.Format.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).lines())
+                .filteredOn(line -> line.startsWith(order.getId() + ","))
+                .singleElement()
+                .satisfies(line -> assertThat(line.substring(line.lastIndexOf(',') + 1).split(" "))
+                        .containsExactlyInAnyOrder("COTO", "LETC"));
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+}
@@ -0,0 +1,78 @@
+package tacos.data;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class IngredientCatalogTest {
+
+    @Autowired
+    private IngredientCatalog catalog;
+
+    @Autowired
+    private IngredientRepository ingredientRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void lookupsAreServedFromMemoryAfterFirstLoad() {
+        catalog.refresh();
+        long hits = catalog.getHitCount();
+        long misses = catalog.getMissCount();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(catalog.findById("FLTO").orElseThrow().getName()).isEqualTo("Flour Tortilla");
+        }
+        assertThat(catalog.findById("NOPE")).isEmpty();
+
+        assertThat(catalog.getMissCount() - misses).isEqualTo(1);
+        assertThat(catalog.getHitCount() - hits).isEqualTo(100);
+    }
+
+    @Test
+    public void ingredientsAreGroupedByType() {
+        assertThat(catalog.ingredientsByType()).containsOnlyKeys(Type.values());
+        assertThat(catalog.ingredientsByType().get(Type.WRAP))
+                .extracting(Ingredient::getId)
+                .containsExactly("FLTO", "COTO");
+    }
+
+    @Test
+    public void repositoryWritesRefreshTheCatalog() {
+        assertThat(catalog.findById("GUAC")).isEmpty();
+
+        ingredientRepo.save(new Ingredient("GUAC", "Guacamole", Type.SAUCE));
+        try {
+            assertThat(catalog.findById("GUAC")).isPresent();
+        } finally {
+            ingredientRepo.deleteById("GUAC");
+        }
+
+        assertThat(catalog.findById("GUAC")).isEmpty();
+    }
+
+    @Test
+    public void writesInATransactionRefreshTheCatalogOnCommit() {
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+
+        transactions.executeWithoutResult(status -> {
+            ingredientRepo.save(new Ingredient("VERD", "Salsa Verde", Type.SAUCE));
+            assertThat(catalog.findById("VERD")).isEmpty();
+        });
+        try {
+            assertThat(catalog.findById("VERD")).isPresent();
+        } finally {
+            ingredientRepo.deleteById("VERD");
+        }
+    }
+
+}
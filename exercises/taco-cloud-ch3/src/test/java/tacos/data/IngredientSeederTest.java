@@ -0,0 +1,64 @@
+package tacos.data;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(StatementCounter.Config.class)
+public class IngredientSeederTest {
+
+    @Autowired
+    private IngredientSeeder seeder;
+
+    @Autowired
+    private IngredientCatalog catalog;
+
+    @Autowired
+    private IngredientRepository ingredientRepo;
+
+    @Autowired
+    private StatementCounter statements;
+
+    @Test
+    public void appliedSeedCostsOneLookupOnRestart() throws Exception {
+        // Applied at startup by the dataLoader runner
+        statements.reset();
+        assertThat(seeder.seed()).isFalse();
+        assertThat(statements.get()).isEqualTo(1);
+        assertThat(catalog.ingredientIds()).hasSize(10);
+    }
+
+    @Test
+    public void changedSeedIsMergedInOneBatch() throws Exception {
+        IngredientSeed changed = new IngredientSeed("test-version", List.of(
+                new Ingredient("FLTO", "Flour Tortilla XL", Type.WRAP),
+                new Ingredient("GUAC", "Guacamole", Type.SAUCE)));
+        try {
+            statements.reset();
+            assertThat(seeder.seed(changed)).isTrue();
+            // version lookup, merge batch, version update, then bits for GUAC
+            assertThat(statements.get()).isEqualTo(4);
+
+            assertThat(catalog.findById("FLTO").orElseThrow().getName()).isEqualTo("Flour Tortilla XL");
+            assertThat(catalog.findById("GUAC")).isPresent();
+            // Rows missing from the seed are kept
+            assertThat(catalog.findById("CARN")).isPresent();
+
+            assertThat(seeder.seed(changed)).isFalse();
+        } finally {
+            assertThat(seeder.seed()).isTrue();
+            ingredientRepo.deleteById("GUAC");
+        }
+        assertThat(catalog.findById("FLTO").orElseThrow().getName()).isEqualTo("Flour Tortilla");
+    }
+
+}
@@ -0,0 +1,106 @@
+package tacos.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import tacos.TacoOrder;
+import tacos.TestOrders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tacos.TestOrders.taco;
+
+@SpringBootTest
+@Import(StatementCounter.Config.class)
+public class OrderAggregateRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private StatementCounter statements;
+
+    @Test
+    public void loadsOrderHistoryWithOneQueryPerTable() {
+        List<TacoOrder> saved = orderRepo.insertBatched(
+                IntStream.range(0, 500).mapToObj(i -> order(1 + i % 4)).toList());
+        List<Long> ids = saved.stream().map(TacoOrder::getId).toList();
+
+        statements.reset();
+        List<TacoOrder> loaded = new ArrayList<>();
+        orderRepo.findAllById(ids).forEach(loaded::add);
+
+        assertThat(statements.get()).isEqualTo(3);
+        assertThat(loaded).extracting(TacoOrder::getId).containsExactlyElementsOf(ids);
+        for (int i = 0; i < saved.size(); i++) {
+            assertThat(loaded.get(i).getTacos()).isEqualTo(saved.get(i).getTacos());
+            assertThat(loaded.get(i).getDeliveryName()).isEqualTo(saved.get(i).getDeliveryName());
+        }
+    }
+
+    @Test
+    public void findAllAndFindByIdUseThreeQueries() {
+        TacoOrder saved = orderRepo.insertBatched(order(3));
+
+        statements.reset();
+        TacoOrder loaded = orderRepo.findById(saved.getId()).orElseThrow();
+        assertThat(statements.get()).isEqualTo(3);
+        assertThat(loaded.getTacos()).isEqualTo(saved.getTacos());
+
+        statements.reset();
+        List<TacoOrder> all = StreamSupport.stream(orderRepo.findAll().spliterator(), false).toList();
+        assertThat(statements.get()).isEqualTo(3);
+        assertThat(all).filteredOn(order -> order.getId().equals(saved.getId()))
+                .singleElement()
+                .extracting(TacoOrder::getTacos)
+                .isEqualTo(saved.getTacos());
+    }
+
+    @Test
+    public void historyPagesCoverEveryOrderOnceNewestFirst() {
+        orderRepo.insertBatched(IntStream.range(0, 30).mapToObj(i -> order(1)).toList());
+
+        List<TacoOrder> seen = new ArrayList<>();
+        List<TacoOrder> page = orderRepo.findHistoryPage(null, null, 7);
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            TacoOrder last = page.get(page.size() - 1);
+            statements.reset();
+            page = orderRepo.findHistoryPage(last.getPlacedAt(), last.getId(), 7);
+            assertThat(statements.get()).isLessThanOrEqualTo(3);
+        }
+
+        assertThat(seen).extracting(TacoOrder::getId).doesNotHaveDuplicates();
+        assertThat(seen).hasSize((int) orderRepo.count());
+        for (int i = 1; i < seen.size(); i++) {
+            TacoOrder newer = seen.get(i - 1);
+            TacoOrder older = seen.get(i);
+            assertThat(older.getPlacedAt()).isBeforeOrEqualTo(newer.getPlacedAt());
+            if (older.getPlacedAt().equals(newer.getPlacedAt())) {
+                assertThat(older.getId()).isLessThan(newer.getId());
+            }
+        }
+    }
+
+    @Test
+    public void unknownIdStopsAfterOrderQuery() {
+        statements.reset();
+        assertThat(orderRepo.findById(-1L)).isEmpty();
+        assertThat(statements.get()).isEqualTo(1);
+    }
+
+    private static TacoOrder order(int tacoCount) {
+        TacoOrder order = TestOrders.order("Historian " + tacoCount);
+        for (int i = 0; i < tacoCount; i++) {
+            order.addTaco(taco("History taco " + i, "FLTO", i % 2 == 0 ? "GRBF" : "CARN", "SLSA"));
+        }
+        return order;
+    }
+
+}
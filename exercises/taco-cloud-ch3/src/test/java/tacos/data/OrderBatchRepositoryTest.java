@@ -0,0 +1,74 @@
+package tacos.data;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import tacos.TacoOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tacos.TestOrders.order;
+
+@SpringBootTest
+@Import(StatementCounter.Config.class)
+public class OrderBatchRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private StatementCounter statements;
+
+    @Autowired
+    private OrderIdAllocator ids;
+
+    @Test
+    public void insertsCateringOrderWithOneBatchPerTable() {
+        TacoOrder order = order(40, "FLTO", "GRBF", "CHED", "SLSA");
+
+        statements.reset();
+        long blocks = ids.getBlocksReserved();
+        orderRepo.insertBatched(order);
+
+        // Three insert batches and two rollup batches, plus a sequence read
+        // whenever an id block runs out
+        assertThat(statements.get() - (ids.getBlocksReserved() - blocks)).isEqualTo(5);
+        assertThat(order.getId()).isNotNull();
+        assertThat(order.getTacos()).allSatisfy(taco -> assertThat(taco.getId()).isNotNull());
+
+        TacoOrder loaded = orderRepo.findById(order.getId()).orElseThrow();
+        assertThat(loaded.getTacos()).hasSize(40);
+        assertThat(loaded.getTacos().get(39)).isEqualTo(order.getTacos().get(39));
+    }
+
+    @Test
+    public void insertsSeveralOrdersWithOneBatchPerTable() {
+        List<TacoOrder> orders = List.of(
+                order(2, "COTO", "CARN"), order(5, "FLTO", "LETC", "JACK"), order(1, "FLTO"));
+
+        statements.reset();
+        long blocks = ids.getBlocksReserved();
+        orderRepo.insertBatched(orders);
+
+        assertThat(statements.get() - (ids.getBlocksReserved() - blocks)).isEqualTo(5);
+        assertThat(orders).extracting(TacoOrder::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(orderRepo.findById(orders.get(1).getId()).orElseThrow().getTacos())
+                .isEqualTo(orders.get(1).getTacos());
+    }
+
+    @Test
+    public void rollsBackWholeAggregateOnFailure() {
+        long before = orderRepo.count();
+
+        assertThatThrownBy(() -> orderRepo.insertBatched(order(3, "FLTO", "XXXX")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(orderRepo.count()).isEqualTo(before);
+    }
+
+}
@@ -0,0 +1,93 @@
+package tacos.data;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.TestOrders;
+import tacos.data.OrderExporter.Format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tacos.TestOrders.taco;
+
+@SpringBootTest
+public class OrderExporterTest {
+
+    @Autowired
+    private OrderExporter exporter;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void exportsOneOrderPerNdjsonLine() throws Exception {
+        TacoOrder order = orderRepo.insertBatched(order("Ndjson, Export",
+                taco("First Export Taco", "FLTO", "GRBF", "CHED"),
+                taco("Second Export Taco", "COTO", "CARN")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exporter.export(Format.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(exported).isEqualTo(orderRepo.count()).isEqualTo(lines.size());
+        JsonNode json = null;
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.get("id").asLong() == order.getId()) {
+                json = node;
+            }
+        }
+        assertThat(json).isNotNull();
+        assertThat(json.has("ccNumber")).isFalse();
+        assertThat(json.get("deliveryName").asText()).isEqualTo("Ndjson, Export");
+        assertThat(json.get("tacos")).hasSize(2);
+        assertThat(json.get("tacos").get(0).get("name").asText()).isEqualTo("First Export Taco");
+        assertThat(json.get("tacos").get(0).get("ingredients").toString())
+                .isEqualTo("[\"FLTO\",\"GRBF\",\"CHED\"]");
+        assertThat(json.get("tacos").get(1).get("ingredients").toString())
+                .isEqualTo("[\"COTO\",\"CARN\"]");
+    }
+
+    @Test
+    public void exportsOneTacoPerCsvLine() throws Exception {
+        TacoOrder order = orderRepo.insertBatched(order("Csv \"Quoted\", Export",
+                taco("Csv Taco One", "FLTO", "SLSA"),
+                taco("Csv Taco Two", "COTO")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(Format.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines.get(0)).startsWith("order_id,placed_at,");
+        List<String> orderLines = lines.stream()
+                .filter(line -> line.startsWith(order.getId() + ","))
+                .toList();
+        assertThat(orderLines).hasSize(2);
+        assertThat(orderLines.get(0))
+                .contains(",\"Csv \"\"Quoted\"\", Export\",")
+                .contains(",Csv Taco One,")
+                .endsWith(",FLTO SLSA");
+        assertThat(orderLines.get(1)).endsWith(",COTO");
+    }
+
+    private static TacoOrder order(String name, Taco... tacos) {
+        TacoOrder order = TestOrders.order(name);
+        for (Taco taco : tacos) {
+            order.addTaco(taco);
+        }
+        return order;
+    }
+
+}
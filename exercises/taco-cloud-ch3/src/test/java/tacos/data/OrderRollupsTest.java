@@ -0,0 +1,136 @@
+package tacos.data;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import tacos.TacoOrder;
+import tacos.TestOrders;
+import tacos.data.OrderRollups.HourlyOrders;
+import tacos.data.OrderRollups.IngredientUsage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class OrderRollupsTest {
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private OrderRollups rollups;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void countsOrdersPerHourAndIngredientUses() {
+        // Placed in the future, so no other test touches these hours
+        LocalDateTime from = LocalDateTime.parse("2101-01-01T09:00:00");
+        long cheddar = uses("CHED");
+        double counted = meterRegistry.get("taco.rollup.orders").functionCounter().count();
+
+        orderRepo.insertBatched(List.of(
+                order("2101-01-01T10:15:00", 2, "FLTO", "CHED"),
+                order("2101-01-01T10:45:00", 1, "COTO", "CHED"),
+                order("2101-01-01T12:00:00", 3, "FLTO")));
+
+        assertThat(rollups.ordersPerHour(from, from.plusHours(4))).containsExactly(
+                new HourlyOrders(from, 0, 0),
+                new HourlyOrders(from.plusHours(1), 2, 3),
+                new HourlyOrders(from.plusHours(2), 0, 0),
+                new HourlyOrders(from.plusHours(3), 1, 3));
+        assertThat(uses("CHED")).isEqualTo(cheddar + 3);
+        assertThat(meterRegistry.get("taco.rollup.orders").functionCounter().count())
+                .isEqualTo(counted + 3);
+        assertThat(rollups.topIngredients(50)).filteredOn(u -> u.ingredient().equals("CHED"))
+                .extracting(IngredientUsage::name).containsExactly("Cheddar");
+    }
+
+    @Test
+    public void countsOrdersSavedPlainly() {
+        LocalDateTime hour = LocalDateTime.parse("2101-04-01T10:00:00");
+
+        TacoOrder saved = orderRepo.save(order("2101-04-01T10:05:00", 1, "GRBF"));
+        orderRepo.saveAll(List.of(
+                order("2101-04-01T10:10:00", 2, "GRBF"), order("2101-04-01T10:20:00", 1, "GRBF")));
+        saved.setDeliveryName("Updated McTest");
+        orderRepo.save(saved);
+
+        assertThat(rollups.ordersPerHour(hour, hour.plusHours(1)))
+                .containsExactly(new HourlyOrders(hour, 3, 4));
+        assertThat(orderRepo.findById(saved.getId()).orElseThrow().getDeliveryName())
+                .isEqualTo("Updated McTest");
+    }
+
+    @Test
+    public void leavesRollupsAloneWhenOrderIsRolledBack() {
+        LocalDateTime hour = LocalDateTime.parse("2101-02-01T10:00:00");
+        long tortillas = uses("FLTO");
+        double counted = meterRegistry.get("taco.rollup.orders").functionCounter().count();
+
+        assertThatThrownBy(() -> orderRepo.insertBatched(
+                order("2101-02-01T10:00:00", 2, "FLTO", "XXXX")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(rollups.ordersPerHour(hour, hour.plusHours(1)))
+                .containsExactly(new HourlyOrders(hour, 0, 0));
+        assertThat(uses("FLTO")).isEqualTo(tortillas);
+        assertThat(meterRegistry.get("taco.rollup.orders").functionCounter().count())
+                .isEqualTo(counted);
+    }
+
+    @Test
+    public void concurrentOrdersAreAllCounted() throws Exception {
+        LocalDateTime hour = LocalDateTime.parse("2101-03-01T10:00:00");
+        long lettuce = uses("LETC");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        orderRepo.insertBatched(order("2101-03-01T10:30:00", 2, "LETC"));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(rollups.ordersPerHour(hour, hour.plusHours(1)))
+                .containsExactly(new HourlyOrders(hour, 200, 400));
+        assertThat(uses("LETC")).isEqualTo(lettuce + 400);
+    }
+
+    private long uses(String ingredient) {
+        return rollups.topIngredients(50).stream()
+                .filter(usage -> usage.ingredient().equals(ingredient))
+                .mapToLong(IngredientUsage::uses)
+                .findFirst().orElse(0);
+    }
+
+    private static TacoOrder order(String placedAt, int tacoCount, String... ingredientIds) {
+        TacoOrder order = TestOrders.order(tacoCount, ingredientIds);
+        order.setPlacedAt(Date.from(
+                LocalDateTime.parse(placedAt).atZone(ZoneId.systemDefault()).toInstant()));
+        return order;
+    }
+
+}
@@ -0,0 +1,251 @@
+package tacos.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import tacos.TacoOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that loading an order aggregate stays cheap as the tables grow.
+ *
+ * Seeds 10k, 100k and then 1M orders (one taco of three ingredients each)
+ * straight into its own H2 database, times findById() over random ids at each
+ * size, and asserts the 100x larger table costs well under 100x as much per
+ * load. Without the indexes from V2 every load scans Taco and Ingredient_Ref,
+ * and the 1M run takes minutes. The history paging, export and import tests
+ * then run against the full table, seeding it first when run on their own.
+ *
+ * Tagged {@code volume}, so it only runs with {@code mvn -Pvolume-test test}.
+ * The largest size can be changed with {@code -Dvolume.orders}.
+ */
+@Slf4j
+@Tag("volume")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:volume;DB_CLOSE_DELAY=-1",
+        "taco.orders.ingestion=direct"})
+public class OrderVolumeTest {
+
+    private static final int MAX_ORDERS = Integer.getInteger("volume.orders", 1_000_000);
+
+    private static final int CHUNK = 100_000;
+
+    private static final int LOADS = 2_000;
+
+    private static final int IMPORTED = 100_000;
+
+    // Orders seeded so far; the tests share one database and run in order
+    private static int seeded;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private OrderExporter exporter;
+
+    @Autowired
+    private OrderImporter importer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @Order(1)
+    public void aggregateLoadTimeIsSubLinearInTableSize() {
+        List<Double> micros = new ArrayList<>();
+        for (int size = 10_000; size <= MAX_ORDERS; size *= 10) {
+            seedTo(size);
+            double perLoad = timeLoads();
+            micros.add(perLoad);
+            log.info("{} orders: {} us per findById", size, String.format("%.1f", perLoad));
+        }
+
+        assertThat(micros).hasSizeGreaterThanOrEqualTo(2);
+        double growth = micros.get(micros.size() - 1) / micros.get(0);
+        double sizeGrowth = Math.pow(10, micros.size() - 1);
+        assertThat(growth).isLessThan(sizeGrowth / 10);
+    }
+
+    @Test
+    @Order(2)
+    public void deepHistoryPageCostsAboutTheSameAsTheFirst() {
+        seedTo(MAX_ORDERS);
+
+        double firstPage = timePage(0);
+        double deepPage = timePage(seeded - 1_000);
+        log.info("history page 1: {} us, page {}: {} us", String.format("%.1f", firstPage),
+                (seeded - 1_000) / 20, String.format("%.1f", deepPage));
+        assertThat(deepPage).isLessThan(firstPage * 5);
+    }
+
+    @Test
+    @Order(3)
+    public void exportStreamsEveryOrder() throws Exception {
+        seedTo(MAX_ORDERS);
+        long orders = jdbc.queryForObject("select count(*) from Taco_Order", Long.class);
+
+        CountingOutputStream out = new CountingOutputStream();
+        long start = System.nanoTime();
+        long exported = exporter.export(OrderExporter.Format.NDJSON, out);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("export: {} orders, {} bytes in {} s ({} orders/s)", exported, out.bytes,
+                String.format("%.1f", seconds), String.format("%.0f", exported / seconds));
+        assertThat(exported).isEqualTo(orders);
+        assertThat(out.lines).isEqualTo(orders);
+    }
+
+    @Test
+    @Order(4)
+    public void importStreamsEveryLine() throws Exception {
+        seedTo(MAX_ORDERS);
+
+        // Generated while it is read, so the body is never held in memory
+        byte[] line = (objectMapper.writeValueAsString(orderRepo.findById(1L).orElseThrow()) + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+        Iterator<InputStream> lines = Stream.generate(() -> (InputStream) new ByteArrayInputStream(line))
+                .limit(IMPORTED).iterator();
+        OrderImportReport report = importer.importOrders(new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return lines.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return lines.next();
+            }
+        }));
+        log.info("import: {} orders at {} orders/s",
+                report.imported(), String.format("%.0f", report.ordersPerSecond()));
+        assertThat(report.imported()).isEqualTo(IMPORTED);
+        assertThat(report.rejected()).isZero();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        long bytes;
+        long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+
+    }
+
+    private double timePage(int skipped) {
+        // Find the keyset bound once; the timed part is the keyset read alone
+        TacoOrder bound = skipped == 0 ? null : jdbc.queryForObject(
+                "select id, placed_at from Taco_Order order by placed_at desc, id desc"
+                        + " offset ? rows fetch next 1 row only",
+                (rs, row) -> {
+                    TacoOrder order = new TacoOrder();
+                    order.setId(rs.getLong("id"));
+                    order.setPlacedAt(rs.getTimestamp("placed_at"));
+                    return order;
+                }, skipped);
+        for (int i = 0; i < LOADS; i++) {
+            readPage(bound);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOADS; i++) {
+            readPage(bound);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / LOADS;
+    }
+
+    private void readPage(TacoOrder bound) {
+        List<TacoOrder> page = bound == null
+                ? orderRepo.findHistoryPage(null, null, 20)
+                : orderRepo.findHistoryPage(bound.getPlacedAt(), bound.getId(), 20);
+        assertThat(page).hasSize(20);
+    }
+
+    private void seedTo(int to) {
+        // Order n and its one taco both get id n, so the seeded ids are dense;
+        // the sequences are then moved past them for the allocator
+        if (seeded >= to) {
+            return;
+        }
+        for (int start = seeded; start < to; start += CHUNK) {
+            int end = Math.min(start + CHUNK, to);
+            jdbc.update("insert into Taco_Order (id, delivery_Name, delivery_Street, delivery_City,"
+                    + " delivery_State, delivery_Zip, cc_number, cc_expiration, cc_cvv, placed_at)"
+                    + " select x, 'Volume ' || x, '1 Main St', 'Testville', 'CO', '80123',"
+                    + " '4111111111111111', '10/29', '123',"
+                    + " dateadd('SECOND', x, timestamp '2020-01-01 00:00:00')"
+                    + " from system_range(?, ?)", start + 1, end);
+            jdbc.update("insert into Taco (id, name, taco_order, taco_order_key, created_at)"
+                    + " select id, 'Taco ' || id, id, 0, current_timestamp"
+                    + " from Taco_Order where id > ?", start);
+            jdbc.update("insert into Ingredient_Ref (ingredient, taco, taco_key)"
+                    + " select case k.x when 0 then 'FLTO' when 1 then 'GRBF' else 'CHED' end, t.id, k.x"
+                    + " from Taco t, system_range(0, 2) k where t.taco_order > ?", start);
+        }
+        jdbc.execute("alter sequence Taco_Order_Id_Seq restart with " + (to + 1));
+        jdbc.execute("alter sequence Taco_Id_Seq restart with " + (to + 1));
+        seeded = to;
+    }
+
+    private double timeLoads() {
+        long minId = jdbc.queryForObject("select min(id) from Taco_Order", Long.class);
+        long maxId = jdbc.queryForObject("select max(id) from Taco_Order", Long.class);
+
+        // Warm up the plan cache and JIT before timing
+        for (int i = 0; i < LOADS; i++) {
+            load(minId, maxId);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOADS; i++) {
+            load(minId, maxId);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / LOADS;
+    }
+
+    private void load(long minId, long maxId) {
+        long id = ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+        TacoOrder order = orderRepo.findById(id).orElseThrow();
+        assertThat(order.getTacos()).hasSize(1);
+        assertThat(order.getTacos().get(0).getIngredients()).hasSize(3);
+    }
+
+}
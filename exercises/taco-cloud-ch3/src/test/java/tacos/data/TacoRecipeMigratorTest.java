@@ -0,0 +1,84 @@
+package tacos.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tacos.TestOrders.order;
+
+/**
+ * Runs the migration over an order history written as Ingredient_Ref rows,
+ * in its own database so no other test sees its tacos change format.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipes;DB_CLOSE_DELAY=-1",
+        "taco.recipes.migration.chunk-size=300"})
+public class TacoRecipeMigratorTest {
+
+    private static final List<List<String>> RECIPES = List.of(
+            List.of("FLTO", "GRBF", "CHED", "SLSA"),
+            List.of("COTO", "CARN", "LETC", "SRCR"),
+            List.of("FLTO", "CARN", "TMTO", "JACK", "SLSA"),
+            List.of("COTO", "GRBF", "LETC"));
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private TacoRecipeMigrator migrator;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    public void movesEveryTacoToASharedRecipe() {
+        List<TacoOrder> orders = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            TacoOrder order = order();
+            for (int t = 0; t < 3; t++) {
+                Taco taco = new Taco();
+                taco.setName("Taco number " + t);
+                RECIPES.get((i + t) % RECIPES.size())
+                        .forEach(id -> taco.getIngredients().add(new IngredientRef(id)));
+                order.addTaco(taco);
+            }
+            orders.add(order);
+        }
+        orderRepo.insertBatched(orders);
+        long refs = count("Ingredient_Ref");
+
+        RecipeMigrationReport report = migrator.migrate();
+        log.info("{}", report);
+
+        assertThat(report.tacos()).isEqualTo(3000);
+        assertThat(report.recipesCreated()).isEqualTo(RECIPES.size());
+        assertThat(report.ingredientRefsRemoved()).isEqualTo(refs);
+        assertThat(count("Ingredient_Ref")).isZero();
+        assertThat(report.bytesAfter()).isLessThan(report.bytesBefore());
+
+        TacoOrder loaded = orderRepo.findById(orders.get(5).getId()).orElseThrow();
+        for (int t = 0; t < 3; t++) {
+            assertThat(loaded.getTacos().get(t).getIngredients())
+                    .containsExactlyInAnyOrderElementsOf(orders.get(5).getTacos().get(t).getIngredients());
+        }
+
+        // Nothing left to do the second time
+        assertThat(migrator.migrate().tacos()).isZero();
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+}
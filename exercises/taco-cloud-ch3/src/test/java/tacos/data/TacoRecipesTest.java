@@ -0,0 +1,133 @@
+package tacos.data;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.TestOrders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tacos.TestOrders.taco;
+
+/**
+ * Runs in its own database, so tests that count the queries of aggregate
+ * loads never meet a recipe this context has interned and theirs hasn't.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-storage;DB_CLOSE_DELAY=-1",
+        "taco.tacos.ingredient-storage=recipe"})
+@Import(StatementCounter.Config.class)
+public class TacoRecipesTest {
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private OrderExporter exporter;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private StatementCounter statements;
+
+    @Autowired
+    private OrderIdAllocator ids;
+
+    @Test
+    public void tacosWithTheSameIngredientsShareOneRecipe() {
+        TacoOrder order = order(List.of("FLTO", "GRBF", "CHED"), List.of("CHED", "FLTO", "GRBF"));
+        long refs = count("Ingredient_Ref");
+        long recipes = count("Taco_Recipe");
+
+        orderRepo.insertBatched(order);
+
+        assertThat(count("Ingredient_Ref")).isEqualTo(refs);
+        assertThat(count("Taco_Recipe")).isEqualTo(recipes + 1);
+        assertThat(jdbc.queryForList("select recipe from Taco where taco_order = ?",
+                Long.class, order.getId())).containsExactly(
+                TacoRecipes.id("CHED,FLTO,GRBF"), TacoRecipes.id("CHED,FLTO,GRBF"));
+        assertThat(orderRepo.findById(order.getId()).orElseThrow().getTacos())
+                .allSatisfy(taco -> assertThat(taco.getIngredients())
+                        .extracting(IngredientRef::getIngredient)
+                        .containsExactly("CHED", "FLTO", "GRBF"));
+    }
+
+    @Test
+    public void knownRecipesCostNoExtraStatements() {
+        // Stores the recipe, which is interned once the order commits
+        orderRepo.insertBatched(order(List.of("COTO", "CARN", "SRCR")));
+        TacoOrder order = order(List.of("SRCR", "COTO", "CARN"), List.of("CARN", "COTO", "SRCR"));
+
+        statements.reset();
+        long blocks = ids.getBlocksReserved();
+        orderRepo.insertBatched(order);
+        // Taco_Order and Taco, then the two rollup batches
+        assertThat(statements.get() - (ids.getBlocksReserved() - blocks)).isEqualTo(4);
+
+        statements.reset();
+        TacoOrder loaded = orderRepo.findById(order.getId()).orElseThrow();
+        // Taco_Order and Taco only
+        assertThat(statements.get()).isEqualTo(2);
+        assertThat(loaded.getTacos().get(0).getIngredients())
+                .isNotSameAs(loaded.getTacos().get(1).getIngredients())
+                .isEqualTo(loaded.getTacos().get(1).getIngredients());
+    }
+
+    @Test
+    public void keepsDuplicateIngredients() {
+        TacoOrder order = orderRepo.insertBatched(order(List.of("CHED", "FLTO", "CHED")));
+
+        assertThat(orderRepo.findById(order.getId()).orElseThrow().getTacos().get(0).getIngredients())
+                .extracting(IngredientRef::getIngredient)
+                .containsExactly("CHED", "CHED", "FLTO");
+    }
+
+    @Test
+    public void unknownIngredientsAreStillRejected() {
+        long recipes = count("Taco_Recipe");
+
+        assertThatThrownBy(() -> orderRepo.insertBatched(order(List.of("FLTO", "XXXX"))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(count("Taco_Recipe")).isEqualTo(recipes);
+    }
+
+    @Test
+    public void exportsRecipeTacos() throws Exception {
+        TacoOrder order = orderRepo.insertBatched(order(List.of("LETC", "TMTO", "JACK")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(OrderExporter.Format.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).lines())
+                .filteredOn(line -> line.startsWith(order.getId() + ","))
+                .singleElement()
+                .satisfies(line -> assertThat(line).endsWith(",JACK LETC TMTO"));
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    @SafeVarargs
+    private static TacoOrder order(List<String>... tacoIngredients) {
+        TacoOrder order = TestOrders.order();
+        for (List<String> ingredientIds : tacoIngredients) {
+            order.addTaco(taco("Recipe Taco", ingredientIds.toArray(String[]::new)));
+        }
+        return order;
+    }
+
+}
@@ -0,0 +1,179 @@
+package tacos.data;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.TestOrders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tacos.TestOrders.taco;
+
+public class WriteBehindOrderIngestionTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final OrderRepository orderRepo = mock(OrderRepository.class);
+
+    private final List<TacoOrder> persisted = Collections.synchronizedList(new ArrayList<>());
+
+    @TempDir
+    private Path dir;
+
+    private Path deadLetter;
+
+    private OrderJournal journal;
+
+    private WriteBehindOrderIngestion ingestion;
+
+    @BeforeEach
+    public void openJournal() throws Exception {
+        deadLetter = dir.resolve("dead-letter.log");
+        journal = new OrderJournal(dir.resolve("journal.log"), deadLetter, objectMapper);
+    }
+
+    @AfterEach
+    public void stop() throws Exception {
+        if (ingestion != null) {
+            ingestion.stop();
+        }
+    }
+
+    @Test
+    public void writesSubmittedOrdersInTheBackground() throws Exception {
+        recordInserts();
+        ingestion = start(100, 2, 10);
+
+        for (int i = 0; i < 25; i++) {
+            ingestion.submit(order("Order " + i));
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> persisted.size() == 25);
+        assertThat(persisted).extracting(TacoOrder::getDeliveryName).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void rejectsOrdersWhenQueueIsFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepo.insertBatched(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        ingestion = start(1, 1, 1);
+
+        ingestion.submit(order("Being written"));
+        writing.await();
+        ingestion.submit(order("Waiting in queue"));
+
+        assertThatThrownBy(() -> ingestion.submit(order("No room")))
+                .isInstanceOf(OrderQueueFullException.class);
+        release.countDown();
+    }
+
+    @Test
+    public void retriesOrdersThatFailToWrite() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        when(orderRepo.insertBatched(anyList())).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new TransientDataAccessResourceException("Database is down");
+            }
+            List<TacoOrder> orders = invocation.getArgument(0);
+            persisted.addAll(orders);
+            return orders;
+        });
+        ingestion = start(10, 1, 10);
+
+        ingestion.submit(order("Eventually written"));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> persisted.size() == 1);
+        assertThat(attempts).hasValue(3);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> journal.pendingCount() == 0);
+        assertThat(deadLetter).doesNotExist();
+    }
+
+    @Test
+    public void deadLettersOrdersThatKeepFailing() throws Exception {
+        when(orderRepo.insertBatched(anyList()))
+                .thenThrow(new TransientDataAccessResourceException("Database is down"));
+        ingestion = start(10, 1, 10);
+
+        ingestion.submit(order("Never written"));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> Files.exists(deadLetter));
+        verify(orderRepo, times(3)).insertBatched(anyList());
+        assertThat(journal.pendingCount()).isZero();
+        assertThat(Files.readString(deadLetter)).contains("Never written");
+    }
+
+    @Test
+    public void writesJournaledOrdersOnRestart() throws Exception {
+        OrderJournal previous = new OrderJournal(dir.resolve("journal.log"),
+                deadLetter, objectMapper);
+        previous.recover();
+        long written = previous.append(order("Written"));
+        previous.append(order("Lost in crash"));
+        previous.markPersisted(List.of(written));
+        previous.close();
+
+        recordInserts();
+        ingestion = start(10, 1, 10);
+
+        assertThat(persisted).singleElement().satisfies(order -> {
+            assertThat(order.getDeliveryName()).isEqualTo("Lost in crash");
+            assertThat(order.getTacos().get(0).getIngredients())
+                    .containsExactly(new IngredientRef("FLTO"), new IngredientRef("GRBF"));
+        });
+    }
+
+    private void recordInserts() {
+        when(orderRepo.insertBatched(anyList())).thenAnswer(invocation -> {
+            List<TacoOrder> orders = invocation.getArgument(0);
+            persisted.addAll(orders);
+            return orders;
+        });
+    }
+
+    private WriteBehindOrderIngestion start(int queueCapacity, int writers, int batchSize)
+            throws Exception {
+        Path file = dir.resolve("journal.log");
+        WriteBehindOrderIngestion started = new WriteBehindOrderIngestion(orderRepo, journal,
+                new WriteBehindProperties(queueCapacity, writers, batchSize, file,
+                        3, Duration.ofMillis(10), deadLetter));
+        started.start();
+        return started;
+    }
+
+    private static TacoOrder order(String name) {
+        TacoOrder order = TestOrders.order(name);
+        order.addTaco(taco("Taco for " + name, "FLTO", "GRBF"));
+        return order;
+    }
+
+}
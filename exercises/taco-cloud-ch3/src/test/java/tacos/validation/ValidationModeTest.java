@@ -0,0 +1,131 @@
+package tacos.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Pattern;
+
+import org.hibernate.validator.constraints.CreditCardNumber;
+import org.junit.jupiter.api.Test;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationModeTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    public void cardValidatorsAcceptExactlyWhatTheStockConstraintsDid() {
+        List<String> numbers = new ArrayList<>(List.of(
+                "", "0", "00", "4111111111111111", "4111111111111112", "4111 1111 1111 1111",
+                "4111-1111-1111-1111", "378282246310005", "6011111111111117", "-4111111111111111",
+                "79927398713", "79927398710", "a4111111111111111"));
+        Random random = new Random(19);
+        for (int i = 0; i < 2_000; i++) {
+            numbers.add(Long.toString(Math.abs(random.nextLong()) % 10_000_000_000_000_000L));
+        }
+        List<String> expirations = new ArrayList<>(List.of(
+                "", "1/29", "01/2", "10/29", "10/19", "00/29", "13/29", "12/99", "10-29",
+                "10/29 ", " 10/29", "10/29\n", "1O/29", "09/20"));
+        for (int month = 0; month < 100; month += 3) {
+            for (int year = 0; year < 100; year += 7) {
+                expirations.add(String.format("%02d/%02d", month, year));
+            }
+        }
+
+        for (String number : numbers) {
+            assertThat(validator.validateValue(Card.class, "number", number).isEmpty())
+                    .as(number)
+                    .isEqualTo(validator.validateValue(StockCard.class, "number", number).isEmpty());
+        }
+        for (String expiration : expirations) {
+            assertThat(validator.validateValue(Card.class, "expiration", expiration).isEmpty())
+                    .as(expiration)
+                    .isEqualTo(validator.validateValue(StockCard.class, "expiration", expiration).isEmpty());
+        }
+    }
+
+    @Test
+    public void fullModeReportsEveryProblem() {
+        assertThat(fields(validator.validate(badOrder(), ValidationMode.FULL.groups())))
+                .containsExactlyInAnyOrder("deliveryName", "ccNumber", "ccExpiration", "ccCVV");
+    }
+
+    @Test
+    public void failFastStopsAtTheCheapestFailingGroup() {
+        TacoOrder order = badOrder();
+        assertThat(fields(validator.validate(order, ValidationMode.FAIL_FAST.groups())))
+                .containsExactly("deliveryName");
+
+        order.setDeliveryName("Test McTest");
+        assertThat(fields(validator.validate(order, ValidationMode.FAIL_FAST.groups())))
+                .containsExactlyInAnyOrder("ccExpiration", "ccCVV");
+
+        order.setCcExpiration("10/29");
+        order.setCcCVV("123");
+        assertThat(fields(validator.validate(order, ValidationMode.FAIL_FAST.groups())))
+                .containsExactly("ccNumber");
+
+        order.setCcNumber("4111111111111111");
+        assertThat(validator.validate(order, ValidationMode.FAIL_FAST.groups())).isEmpty();
+    }
+
+    @Test
+    public void everyTacoConstraintIsInACostGroup() {
+        Taco taco = new Taco();
+        taco.setName("Tac");
+        assertThat(fields(validator.validate(taco, ValidationMode.FAIL_FAST.groups())))
+                .containsExactlyInAnyOrder("name", "ingredients");
+
+        taco.setName("Valid Taco");
+        taco.getIngredients().add(new IngredientRef("FLTO"));
+        assertThat(validator.validate(taco, ValidationMode.FAIL_FAST.groups())).isEmpty();
+    }
+
+    private static TacoOrder badOrder() {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName("");
+        order.setDeliveryStreet("1234 Test Lane");
+        order.setDeliveryCity("Testville");
+        order.setDeliveryState("CO");
+        order.setDeliveryZip("80123");
+        order.setCcNumber("4111111111111112");
+        order.setCcExpiration("13/29");
+        order.setCcCVV("12a");
+        return order;
+    }
+
+    private static List<String> fields(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream().map(v -> v.getPropertyPath().toString()).toList();
+    }
+
+    static class Card {
+
+        @CardNumber
+        String number;
+
+        @CardExpiration
+        String expiration;
+
+    }
+
+    static class StockCard {
+
+        @CreditCardNumber
+        String number;
+
+        @Pattern(regexp = "^(0[1-9]|1[0-2])([\\/])([2-9][0-9])$")
+        String expiration;
+
+    }
+
+}
@@ -0,0 +1,123 @@
+package tacos.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.TestOrders;
+import tacos.data.IngredientCatalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BinaryTacoOrderCodecTest {
+
+    private static final List<String> IDS = List.of(
+            "CARN", "CHED", "COTO", "FLTO", "GRBF", "JACK", "LETC", "SLSA", "SRCR", "TMTO");
+
+    private final IngredientCatalog catalog = mock(IngredientCatalog.class);
+
+    private final BinaryTacoOrderCodec codec = new BinaryTacoOrderCodec(catalog);
+
+    @BeforeEach
+    public void stubRefs() {
+        when(catalog.ref(anyString()))
+                .thenAnswer(invocation -> new IngredientRef(invocation.getArgument(0)));
+    }
+
+    @Test
+    public void roundTripsWholeOrder() {
+        when(catalog.ingredientIds()).thenReturn(IDS);
+        TacoOrder order = order();
+        order.setId(42L);
+
+        TacoOrder decoded = codec.decode(codec.encode(order));
+
+        assertThat(decoded).isEqualTo(order);
+        assertThat(decoded.getPlacedAt()).isEqualTo(order.getPlacedAt());
+        assertThat(decoded.getTacos().get(0).getCreatedAt())
+                .isEqualTo(order.getTacos().get(0).getCreatedAt());
+    }
+
+    @Test
+    public void keepsNullsAndUnknownIngredients() {
+        when(catalog.ingredientIds()).thenReturn(IDS);
+        TacoOrder order = new TacoOrder();
+        order.setPlacedAt(null);
+        Taco taco = new Taco();
+        taco.getIngredients().add(new IngredientRef("FLTO"));
+        taco.getIngredients().add(new IngredientRef("GUAC"));
+        order.addTaco(taco);
+
+        TacoOrder decoded = codec.decode(codec.encode(order));
+
+        assertThat(decoded).isEqualTo(order);
+        assertThat(decoded.getDeliveryName()).isNull();
+        assertThat(decoded.getPlacedAt()).isNull();
+    }
+
+    @Test
+    public void decodesOrdersEncodedBeforeTheCatalogChanged() {
+        when(catalog.ingredientIds()).thenReturn(IDS);
+        TacoOrder order = order();
+        byte[] bytes = codec.encode(order);
+
+        // AAAA shifts every code; CHED keeps its id, FLTO is gone
+        when(catalog.ingredientIds()).thenReturn(List.of("AAAA", "CARN", "CHED"));
+
+        assertThat(codec.decode(bytes)).isEqualTo(order);
+    }
+
+    @Test
+    public void rejectsOrdersEncodedAgainstAnUnknownCatalog() {
+        when(catalog.ingredientIds()).thenReturn(IDS);
+        byte[] bytes = codec.encode(order());
+
+        // A new codec, as after a restart, that has only seen the new catalog
+        when(catalog.ingredientIds()).thenReturn(List.of("AAAA", "CARN", "CHED"));
+        BinaryTacoOrderCodec restarted = new BinaryTacoOrderCodec(catalog);
+
+        assertThatThrownBy(() -> restarted.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void rejectsTruncatedInput() {
+        when(catalog.ingredientIds()).thenReturn(IDS);
+        byte[] bytes = codec.encode(order());
+
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(bytes, bytes.length - 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void isSmallerThanJdkSerialization() throws Exception {
+        when(catalog.ingredientIds()).thenReturn(IDS);
+        TacoOrder order = order();
+
+        ByteArrayOutputStream jdk = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(jdk)) {
+            out.writeObject(order);
+        }
+
+        assertThat(codec.encode(order).length).isLessThan(jdk.size() / 4);
+    }
+
+    private static TacoOrder order() {
+        TacoOrder order = TestOrders.order(3, "FLTO", "GRBF", "CHED");
+        order.setPlacedAt(new Date(1_760_000_000_000L));
+        return order;
+    }
+
+}
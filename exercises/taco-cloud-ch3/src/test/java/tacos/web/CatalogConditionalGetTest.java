@@ -0,0 +1,79 @@
+package tacos.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.data.IngredientRepository;
+import tacos.data.StatementCounter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+public class CatalogConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementCounter statements;
+
+    @Autowired
+    private IngredientRepository ingredientRepo;
+
+    @Test
+    public void repeatVisitToDesignPageGets304WithoutDatabaseWork() throws Exception {
+        MvcResult first = mockMvc.perform(get("/design"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertThat(etag).startsWith("\"").endsWith("\"");
+
+        statements.reset();
+        MvcResult repeat = mockMvc.perform(get("/design").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andReturn();
+        assertThat(repeat.getResponse().getContentLength()).isZero();
+        assertThat(repeat.getRequest().getSession(false)).isNull();
+        assertThat(statements.get()).isZero();
+
+        mockMvc.perform(get("/design").header("If-Modified-Since",
+                        first.getResponse().getHeader("Last-Modified")))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void catalogWriteChangesTheIngredientListingEtag() throws Exception {
+        String etag = mockMvc.perform(get("/ingredients"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.WRAP[0].id").value("FLTO"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/ingredients").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        ingredientRepo.save(new Ingredient("PICO", "Pico de Gallo", Type.SAUCE));
+        try {
+            String changed = mockMvc.perform(get("/ingredients").header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.SAUCE[?(@.id == 'PICO')]").exists())
+                    .andReturn().getResponse().getHeader("ETag");
+            assertThat(changed).isNotEqualTo(etag);
+        } finally {
+            ingredientRepo.deleteById("PICO");
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package tacos.web;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import jakarta.servlet.http.Cookie;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.TestOrders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "taco.session.store=cookie",
+        "taco.session.cookie-secret=test-secret"})
+@AutoConfigureMockMvc
+public class CookieSessionStoreTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void orderTravelsInCookieWithoutHttpSession() throws Exception {
+        MvcResult first = designTaco("First Taco");
+        Cookie order = first.getResponse().getCookie("tacoOrder");
+        assertThat(order).isNotNull();
+        assertThat(first.getRequest().getSession(false)).isNull();
+
+        MvcResult second = designTaco("Second Taco", order);
+        order = second.getResponse().getCookie("tacoOrder");
+
+        mockMvc.perform(get("/orders/current").cookie(order))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("First Taco")))
+                .andExpect(content().string(containsString("Second Taco")));
+
+        MvcResult placed = mockMvc.perform(post("/orders").cookie(order)
+                        .param("deliveryName", "Test McTest")
+                        .param("deliveryStreet", "1234 Test Lane")
+                        .param("deliveryCity", "Testville")
+                        .param("deliveryState", "CO")
+                        .param("deliveryZip", "80123")
+                        .param("ccNumber", "4111111111111111")
+                        .param("ccExpiration", "10/29")
+                        .param("ccCVV", "123"))
+                .andExpect(redirectedUrl("/"))
+                .andReturn();
+        assertThat(placed.getResponse().getCookie("tacoOrder").getMaxAge()).isZero();
+        assertThat(placed.getRequest().getSession(false)).isNull();
+    }
+
+    @Test
+    public void tamperedCookieIsIgnored() throws Exception {
+        Cookie order = designTaco("Honest Taco").getResponse().getCookie("tacoOrder");
+        String value = order.getValue();
+        char flipped = value.charAt(10) == 'A' ? 'B' : 'A';
+        Cookie tampered = new Cookie("tacoOrder",
+                value.substring(0, 10) + flipped + value.substring(11));
+
+        Cookie restarted = designTaco("Another Taco", tampered).getResponse().getCookie("tacoOrder");
+
+        mockMvc.perform(get("/orders/current").cookie(restarted))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Another Taco")))
+                .andExpect(content().string(not(containsString("Honest Taco"))));
+    }
+
+    @Test
+    public void cardFieldsCantBeReadFromTheCookie() throws Exception {
+        CookieSessionAttributeStore store = store(Clock.systemUTC());
+        TacoOrder order = order(1);
+
+        byte[] token = Base64.getUrlDecoder().decode(store.encode(order));
+
+        assertThat(new String(token, StandardCharsets.ISO_8859_1))
+                .doesNotContain("4111111111111111");
+        assertThat(store.decode(store.encode(order))).isEqualTo(order);
+    }
+
+    @Test
+    public void expiredCookieIsIgnored() {
+        Instant issued = Instant.parse("2025-10-09T12:00:00Z");
+        String token = store(Clock.fixed(issued, ZoneOffset.UTC)).encode(order(1));
+
+        assertThat(store(Clock.fixed(issued.plus(Duration.ofMinutes(119)), ZoneOffset.UTC))
+                .decode(token)).isNotNull();
+        assertThat(store(Clock.fixed(issued.plus(Duration.ofMinutes(121)), ZoneOffset.UTC))
+                .decode(token)).isNull();
+    }
+
+    @Test
+    public void orderTooLargeForTwoCookiesFailsToStore() {
+        CookieSessionAttributeStore store = store(Clock.systemUTC());
+        TacoOrder order = order(2000);
+        for (Taco taco : order.getTacos()) {
+            taco.setName(UUID.randomUUID().toString());
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        assertThatThrownBy(() -> store.storeAttribute(
+                new ServletWebRequest(request, new MockHttpServletResponse()), "tacoOrder", order))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("too large");
+    }
+
+    private CookieSessionAttributeStore store(Clock clock) {
+        return new CookieSessionAttributeStore(new JsonTacoOrderCodec(objectMapper),
+                "test-secret".getBytes(StandardCharsets.UTF_8), Duration.ofHours(2), clock);
+    }
+
+    private static TacoOrder order(int tacoCount) {
+        return TestOrders.order(tacoCount, "FLTO");
+    }
+
+    private MvcResult designTaco(String name, Cookie... cookies) throws Exception {
+        var request = post("/design")
+                .param("name", name)
+                .param("ingredients", "FLTO", "GRBF", "CHED");
+        if (cookies.length > 0) {
+            request.cookie(cookies);
+        }
+        return mockMvc.perform(request)
+                .andExpect(redirectedUrl("/orders/current"))
+                .andReturn();
+    }
+
+}
@@ -0,0 +1,62 @@
+package tacos.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.data.OrderRepository;
+import tacos.data.StatementCounter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static tacos.TestOrders.order;
+import static tacos.TestOrders.taco;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+public class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementCounter statements;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Test
+    public void readsOneQueryPerPanel() throws Exception {
+        TacoOrder order = order();
+        order.addTaco(taco("Dashboard Taco", "FLTO", "CHED"));
+        orderRepo.insertBatched(order);
+        // Loads the ingredient names
+        mockMvc.perform(get("/dashboard")).andExpect(status().isOk());
+
+        statements.reset();
+        mockMvc.perform(get("/dashboard").param("hours", "3").param("top", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ordersPerHour", hasSize(3)))
+                .andExpect(jsonPath("$.ordersPerHour[2].orders").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.topIngredients", hasSize(2)));
+
+        assertThat(statements.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void capsTheWindow() throws Exception {
+        mockMvc.perform(get("/dashboard").param("hours", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ordersPerHour", hasSize(7 * 24)));
+    }
+
+}
@@ -0,0 +1,87 @@
+package tacos.web;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import lombok.extern.slf4j.Slf4j;
+import tacos.TacoOrder;
+import tacos.data.IngredientCatalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Measures what a design POST allocates on the request thread, from binding
+ * the form through validation to the redirect. MockMvc runs the whole request
+ * on the calling thread, so the thread's allocation counter sees all of it.
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+public class DesignAllocationTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int MEASURED = 1_000;
+
+    // Bytes per request. A warmed-up JVM measures about 86 KB, nearly all of it
+    // MockMvc and Spring MVC; the headroom absorbs JIT and JDK differences
+    private static final long BUDGET = 128 * 1024;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IngredientCatalog catalog;
+
+    @Test
+    public void boundIngredientsAreTheCatalogsSharedRefs() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        mockMvc.perform(designPost().session(session))
+                .andExpect(status().is3xxRedirection());
+
+        TacoOrder order = (TacoOrder) session.getAttribute("tacoOrder");
+        assertThat(order.getTacos().get(0).getIngredients())
+                .satisfiesExactly(
+                        ref -> assertThat(ref).isSameAs(catalog.ref("FLTO")),
+                        ref -> assertThat(ref).isSameAs(catalog.ref("GRBF")),
+                        ref -> assertThat(ref).isSameAs(catalog.ref("CHED")));
+    }
+
+    @Test
+    public void designPostStaysWithinItsAllocationBudget() throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP; i++) {
+            perform(designPost());
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            perform(designPost());
+        }
+        long perRequest = (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED;
+
+        log.info("POST /design allocates {} bytes per request", perRequest);
+        assertThat(perRequest).isPositive().isLessThan(BUDGET);
+    }
+
+    private void perform(RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().is3xxRedirection());
+    }
+
+    private static MockHttpServletRequestBuilder designPost() {
+        return post("/design")
+                .param("name", "Allocation Taco")
+                .param("ingredients", "FLTO", "GRBF", "CHED");
+    }
+
+}
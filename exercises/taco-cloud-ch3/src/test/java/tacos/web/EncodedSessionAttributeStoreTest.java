@@ -0,0 +1,64 @@
+package tacos.web;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tacos.IngredientRef;
+import tacos.TacoOrder;
+import tacos.data.IngredientCatalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static tacos.TestOrders.order;
+
+public class EncodedSessionAttributeStoreTest {
+
+    private final IngredientCatalog catalog = mock(IngredientCatalog.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EncodedSessionAttributeStore store =
+            new EncodedSessionAttributeStore(new BinaryTacoOrderCodec(catalog), meterRegistry);
+
+    private final MockHttpSession session = new MockHttpSession();
+
+    @BeforeEach
+    public void stubCatalog() {
+        when(catalog.ref(anyString()))
+                .thenAnswer(invocation -> new IngredientRef(invocation.getArgument(0)));
+        when(catalog.ingredientIds()).thenReturn(List.of("CHED", "FLTO", "GRBF"));
+    }
+
+    @Test
+    public void keepsOrderAsBytesBetweenRequests() {
+        TacoOrder order = order(2, "FLTO", "GRBF");
+        store.storeAttribute(request(), "tacoOrder", order);
+
+        assertThat(session.getAttribute("tacoOrder")).isInstanceOf(byte[].class);
+        assertThat(store.retrieveAttribute(request(), "tacoOrder")).isEqualTo(order);
+    }
+
+    @Test
+    public void dropsAndCountsOrdersThatCantBeDecoded() {
+        session.setAttribute("tacoOrder", new byte[] {42});
+
+        assertThat(store.retrieveAttribute(request(), "tacoOrder")).isNull();
+        assertThat(meterRegistry.get("taco.session.decode.failures").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private ServletWebRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setSession(session);
+        return new ServletWebRequest(request);
+    }
+
+}
@@ -0,0 +1,50 @@
+package tacos.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "taco.validation.mode=fail-fast")
+@AutoConfigureMockMvc
+public class FailFastValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void blankFieldsHideCardChecksUntilFixed() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        mockMvc.perform(post("/orders").session(session)
+                        .param("deliveryName", "")
+                        .param("deliveryStreet", "1234 Test Lane")
+                        .param("deliveryCity", "Testville")
+                        .param("deliveryState", "CO")
+                        .param("deliveryZip", "80123")
+                        .param("ccNumber", "4111111111111112")
+                        .param("ccExpiration", "10/29")
+                        .param("ccCVV", "123"))
+                .andExpect(view().name("orderForm"))
+                .andExpect(model().attributeHasFieldErrors("tacoOrder", "deliveryName"))
+                .andExpect(model().attributeErrorCount("tacoOrder", 1));
+
+        mockMvc.perform(post("/orders").session(session)
+                        .param("deliveryName", "Test McTest")
+                        .param("deliveryStreet", "1234 Test Lane")
+                        .param("deliveryCity", "Testville")
+                        .param("deliveryState", "CO")
+                        .param("deliveryZip", "80123")
+                        .param("ccNumber", "4111111111111112")
+                        .param("ccExpiration", "10/29")
+                        .param("ccCVV", "123"))
+                .andExpect(view().name("orderForm"))
+                .andExpect(model().attributeHasFieldErrors("tacoOrder", "ccNumber"))
+                .andExpect(model().attributeErrorCount("tacoOrder", 1));
+    }
+
+}
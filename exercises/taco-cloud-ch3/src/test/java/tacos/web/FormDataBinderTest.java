@@ -0,0 +1,156 @@
+package tacos.web;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.propertyeditors.StringTrimmerEditor;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import tacos.IngredientRef;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.data.IngredientCatalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Binds the same parameters with {@link FormDataBinder} and with Spring's
+ * binder, and expects the same form objects and the same errors.
+ */
+public class FormDataBinderTest {
+
+    private final IngredientCatalog catalog = mock(IngredientCatalog.class);
+
+    private final Map<String, IngredientRef> refs = new ConcurrentHashMap<>();
+
+    private final DefaultFormattingConversionService conversionService =
+            new DefaultFormattingConversionService();
+
+    @BeforeEach
+    public void setUp() {
+        when(catalog.ref(anyString())).thenAnswer(invocation ->
+                refs.computeIfAbsent(invocation.getArgument(0), IngredientRef::new));
+        conversionService.addConverter(new IngredientRefByIdConverter(catalog));
+    }
+
+    @Test
+    public void bindsTacosLikeTheDefaultBinder() {
+        List<Map<String, Object>> forms = List.of(
+                Map.of("name", "Good Taco", "ingredients", new String[] {"FLTO", "GRBF"}),
+                Map.of("name", "Good Taco", "ingredients", "FLTO, GRBF,CHED"),
+                Map.of("name", "Good Taco", "ingredients", ""),
+                Map.of("name", "Good Taco", "_ingredients", "on"),
+                Map.of("name", new String[] {"Two", "Names"}, "ingredients", new String[] {"A,B", " C"}),
+                Map.of("ingredients", "NOPE", "createdAt", "yesterday"),
+                Map.of("id", "abc", "name", "Bad Id"),
+                Map.of("id", "7", "unknown", "ignored"));
+
+        for (Map<String, Object> form : forms) {
+            assertSameBinding(new Taco(), new Taco(), form);
+        }
+    }
+
+    @Test
+    public void leavesConversionErrorsToTheDefaultBinder() {
+        Taco taco = new Taco();
+        WebDataBinder binder = binder(taco, new TacoFormBinder(catalog));
+        binder.bind(new MutablePropertyValues(Map.of("id", "abc", "name", "Bad Id")));
+
+        assertThat(taco.getName()).isEqualTo("Bad Id");
+        assertThat(binder.getBindingResult().getFieldError("id").getCode()).isEqualTo("typeMismatch");
+    }
+
+    @Test
+    public void bindsOrdersLikeTheDefaultBinder() {
+        Map<String, Object> valid = new LinkedHashMap<>();
+        valid.put("deliveryName", "Test McTest");
+        valid.put("deliveryStreet", "1234 Test Lane");
+        valid.put("deliveryCity", "Testville");
+        valid.put("deliveryState", "CO");
+        valid.put("deliveryZip", "80123");
+        valid.put("ccNumber", "4111111111111111");
+        valid.put("ccExpiration", "10/29");
+        valid.put("ccCVV", "123");
+        Map<String, Object> odd = new LinkedHashMap<>(valid);
+        odd.put("deliveryName", new String[] {"Test", "McTest"});
+        odd.put("ccCVV", "");
+        odd.put("placedAt", "not a date");
+        odd.put("tacos[0].name", "Nested Taco");
+
+        for (Map<String, Object> form : List.of(valid, odd, Map.<String, Object>of("id", "x"))) {
+            TacoOrder expected = new TacoOrder();
+            TacoOrder actual = new TacoOrder();
+            actual.setPlacedAt(expected.getPlacedAt());
+            assertSameBinding(expected, actual, form);
+        }
+    }
+
+    @Test
+    public void leavesFieldsWithCustomEditorsToTheDefaultBinder() {
+        Map<String, Object> form = Map.of("name", "  Padded Taco  ", "ingredients", "FLTO");
+        Taco expected = new Taco();
+        Taco actual = new Taco();
+        WebDataBinder standard = binder(expected, null);
+        WebDataBinder fast = binder(actual, new TacoFormBinder(catalog));
+        // As an @InitBinder method would
+        for (WebDataBinder binder : List.of(standard, fast)) {
+            binder.registerCustomEditor(String.class, new StringTrimmerEditor(true));
+        }
+        standard.bind(new MutablePropertyValues(form));
+        fast.bind(new MutablePropertyValues(form));
+
+        assertThat(actual.getName()).isEqualTo("Padded Taco");
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void bindsIngredientsToSharedRefs() {
+        Taco taco = new Taco();
+        binder(taco, new TacoFormBinder(catalog))
+                .bind(new MutablePropertyValues(Map.of("ingredients", new String[] {"FLTO", "GRBF"})));
+
+        assertThat(taco.getIngredients().get(0)).isSameAs(catalog.ref("FLTO"));
+        assertThat(taco.getIngredients().get(1)).isSameAs(catalog.ref("GRBF"));
+    }
+
+    private <T> void assertSameBinding(T expected, T actual, Map<String, Object> form) {
+        WebDataBinder standard = binder(expected, null);
+        WebDataBinder fast = binder(actual, expected instanceof Taco
+                ? new TacoFormBinder(catalog) : new TacoOrderFormBinder());
+        standard.bind(new MutablePropertyValues(form));
+        fast.bind(new MutablePropertyValues(form));
+
+        assertThat(actual).as("%s", form).isEqualTo(expected);
+        assertThat(errors(fast.getBindingResult())).as("%s", form)
+                .isEqualTo(errors(standard.getBindingResult()));
+    }
+
+    private WebDataBinder binder(Object target, FormBinder<?> formBinder) {
+        WebDataBinder binder = formBinder != null
+                ? new FormDataBinder(target, "form", formBinder)
+                : new ExtendedServletRequestDataBinder(target, "form");
+        binder.setConversionService(conversionService);
+        return binder;
+    }
+
+    private static List<String> errors(BindingResult result) {
+        return result.getAllErrors().stream()
+                .map(error -> (error instanceof FieldError field
+                        ? field.getField() + "=" + field.getRejectedValue() : "")
+                        + " " + List.of(error.getCodes()))
+                .toList();
+    }
+
+}
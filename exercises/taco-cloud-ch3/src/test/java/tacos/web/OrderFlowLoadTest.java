@@ -0,0 +1,217 @@
+package tacos.web;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import lombok.extern.slf4j.Slf4j;
+import tacos.TacoCloudCh3Application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the default Tomcat thread pool with the {@code virtual} profile by
+ * driving the design-and-order flow (GET /design, POST /design, POST /orders)
+ * with 200 and 2,000 concurrent users, and reports throughput and p99 latency
+ * per request.
+ *
+ * Tagged {@code load}, so it only runs with {@code mvn -Pload-test test}. The
+ * virtual-thread runs are skipped unless the JVM is Java 21 or newer. Results
+ * are logged and written to {@code target/load-test-results.csv}; the
+ * duration of each run can be set with {@code -Dload.seconds}.
+ *
+ * With {@code -Dload.target=http://host:port} the same flow is driven against
+ * an application that is already running (the reactive variant in
+ * {@code reactive/}, for instance) instead of the two embedded runs, and its
+ * rows are labelled with {@code -Dload.label} (default {@code target}).
+ */
+@Slf4j
+@Tag("load")
+public class OrderFlowLoadTest {
+
+    private static final int[] USERS = {200, 2000};
+
+    private static final String TARGET = System.getProperty("load.target");
+
+    private static final Duration RUN = Duration.ofSeconds(Long.getLong("load.seconds", 30));
+
+    private static final String TACO_FORM =
+            "name=Load+Test+Taco&ingredients=FLTO&ingredients=GRBF&ingredients=CHED";
+
+    private static final String ORDER_FORM =
+            "deliveryName=Load+Tester&deliveryStreet=1+Main+St&deliveryCity=Testville"
+            + "&deliveryState=CO&deliveryZip=80123&ccNumber=4111111111111111"
+            + "&ccExpiration=10%2F29&ccCVV=123";
+
+    @Test
+    public void compareThreadPoolWithVirtualThreads() throws Exception {
+        List<String> results = new ArrayList<>();
+        results.add("mode,users,requests,errors,throughput_per_sec,p99_ms");
+
+        if (TARGET != null) {
+            runAll(TARGET, System.getProperty("load.label", "target"), results);
+            write(results);
+            return;
+        }
+
+        for (boolean virtual : new boolean[] {false, true}) {
+            if (virtual && Runtime.version().feature() < 21) {
+                log.info("Skipping virtual-thread runs: needs Java 21+");
+                continue;
+            }
+            SpringApplicationBuilder app = new SpringApplicationBuilder(TacoCloudCh3Application.class)
+                    .properties("server.port=0");
+            if (virtual) {
+                app.profiles("virtual");
+            }
+            try (ConfigurableApplicationContext context = app.run()) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                runAll("http://localhost:" + port, virtual ? "virtual" : "thread-pool", results);
+            }
+        }
+
+        write(results);
+    }
+
+    private void runAll(String baseUrl, String mode, List<String> results) throws InterruptedException {
+        for (int users : USERS) {
+            Result result = run(baseUrl, users);
+            results.add(String.format("%s,%d,%d,%d,%.1f,%.1f", mode, users,
+                    result.requests(), result.errors(), result.throughput(), result.p99Millis()));
+            log.info(String.format("%-11s %5d users: %8.1f req/s, p99 %7.1f ms, %d errors",
+                    mode, users, result.throughput(), result.p99Millis(), result.errors()));
+            assertThat(result.errors()).isZero();
+        }
+    }
+
+    private static void write(List<String> results) throws IOException {
+        Path csv = Path.of("target", "load-test-results.csv");
+        Files.createDirectories(csv.getParent());
+        Files.write(csv, results);
+    }
+
+    private Result run(String baseUrl, int users) throws InterruptedException {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(16);
+        try {
+            return run(baseUrl, users, HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build());
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private Result run(String baseUrl, int users, HttpClient client) throws InterruptedException {
+        long[][] latencies = new long[users][];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(users);
+        long deadline = System.nanoTime() + RUN.toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        for (int u = 0; u < users; u++) {
+            int user = u;
+            pool.execute(() -> {
+                LatencyLog timings = new LatencyLog();
+                try {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            orderFlow(client, baseUrl, timings);
+                        } catch (IOException | IllegalStateException e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latencies[user] = timings.toArray();
+                    done.countDown();
+                }
+            });
+        }
+        done.await(RUN.toSeconds() + 120, TimeUnit.SECONDS);
+        pool.shutdownNow();
+
+        long[] all = Arrays.stream(latencies)
+                .filter(l -> l != null)
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        double p99 = all.length == 0 ? 0 : all[(int) Math.ceil(all.length * 0.99) - 1] / 1e6;
+        return new Result(all.length, errors.get(), all.length / (double) RUN.toSeconds(), p99);
+    }
+
+    private void orderFlow(HttpClient client, String baseUrl, LatencyLog timings)
+            throws IOException, InterruptedException {
+        HttpResponse<Void> design = send(client, timings,
+                HttpRequest.newBuilder(URI.create(baseUrl + "/design")).GET().build(), 200);
+        String session = design.headers().firstValue("Set-Cookie")
+                .map(cookie -> cookie.substring(0, cookie.indexOf(';')))
+                .orElseThrow(() -> new IllegalStateException("No session cookie"));
+
+        send(client, timings, form(baseUrl + "/design", session, TACO_FORM), 302);
+        send(client, timings, form(baseUrl + "/orders", session, ORDER_FORM), 302);
+    }
+
+    private static HttpRequest form(String url, String session, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Cookie", session)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpResponse<Void> send(HttpClient client, LatencyLog timings,
+            HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        timings.add(System.nanoTime() - start);
+        // WebFlux answers a redirect after POST with 303 where Spring MVC uses 302
+        boolean redirected = expectedStatus == 302 && response.statusCode() == 303;
+        if (response.statusCode() != expectedStatus && !redirected) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+        }
+        return response;
+    }
+
+    private record Result(long requests, long errors, double throughput, double p99Millis) {
+    }
+
+    private static class LatencyLog {
+
+        private long[] nanos = new long[1024];
+        private int size;
+
+        void add(long latency) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(nanos, size);
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+package tacos.web;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.TestOrders;
+import tacos.data.OrderRepository;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static tacos.TestOrders.taco;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OrderHistoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Test
+    public void pagesThroughHistoryNewestFirst() throws Exception {
+        // Placed in the future, so they are the newest orders in the shared database
+        List<TacoOrder> orders = orderRepo.insertBatched(List.of(
+                order("Oldest Customer", "2100-01-01T00:00:00Z"),
+                order("Middle Customer", "2100-01-02T00:00:00Z"),
+                order("Newest Customer", "2100-01-02T00:00:00Z")));
+        TacoOrder middle = orders.get(1);
+
+        mockMvc.perform(get("/orders/history").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("orderHistory"))
+                .andExpect(content().string(allOf(
+                        containsString("Newest Customer"),
+                        containsString("Middle Customer"),
+                        not(containsString("Oldest Customer")),
+                        containsString("beforeId=" + middle.getId()))));
+
+        mockMvc.perform(get("/orders/history")
+                        .param("before", Long.toString(middle.getPlacedAt().getTime()))
+                        .param("beforeId", Long.toString(middle.getId()))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("Oldest Customer"),
+                        containsString("History Taco"),
+                        not(containsString("Middle Customer")))));
+    }
+
+    private static TacoOrder order(String name, String placedAt) {
+        TacoOrder order = TestOrders.order(name);
+        order.setPlacedAt(Date.from(Instant.parse(placedAt)));
+        order.addTaco(taco("History Taco", "FLTO"));
+        return order;
+    }
+
+}
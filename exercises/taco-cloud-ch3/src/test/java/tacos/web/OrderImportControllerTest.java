@@ -0,0 +1,124 @@
+package tacos.web;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.TestOrders;
+import tacos.data.OrderRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static tacos.TestOrders.taco;
+
+@SpringBootTest(properties = "taco.orders.import.chunk-size=2")
+@AutoConfigureMockMvc
+public class OrderImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Test
+    public void importsValidLinesAndReportsTheRest() throws Exception {
+        TacoOrder badCard = order("Bad Card", "FLTO");
+        badCard.setCcNumber("1234");
+        String body = String.join("\n",
+                json(order("Import One", "FLTO", "GRBF")),
+                json(order("Import Two", "COTO")),
+                "",
+                "{not json",
+                json(badCard),
+                json(order("Import Three", "FLTO", "XXXX")),
+                json(order("Import Four", "CARN", "SLSA")),
+                json(order("Import Five", "FLTO")));
+        long before = orderRepo.count();
+
+        mockMvc.perform(post("/orders/import")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(7))
+                .andExpect(jsonPath("$.imported").value(4))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.errorsTruncated").value(false))
+                .andExpect(jsonPath("$.errors[*].line").value(contains(4, 5, 6)))
+                .andExpect(jsonPath("$.errors[0].messages[0]").value(startsWith("Not a taco order")))
+                .andExpect(jsonPath("$.errors[1].messages")
+                        .value(hasItem("ccNumber: Not a valid credit card number")))
+                .andExpect(jsonPath("$.errors[2].messages")
+                        .value(contains("tacos[0].ingredients: Unknown ingredient XXXX")));
+
+        assertThat(orderRepo.count()).isEqualTo(before + 4);
+    }
+
+    @Test
+    public void rejectsLinesThatCantBeStoredWithoutFailingTheImport() throws Exception {
+        TacoOrder longState = order("Long State", "FLTO");
+        longState.setDeliveryState("Colorado");
+        TacoOrder noPlacedAt = order("No Placed At", "FLTO");
+        noPlacedAt.setPlacedAt(null);
+        TacoOrder noTacos = order("No Tacos");
+        noTacos.setTacos(null);
+        TacoOrder nullTaco = order("Null Taco");
+        nullTaco.setTacos(Arrays.asList((Taco) null));
+        TacoOrder noCreatedAt = order("No Created At", "FLTO");
+        noCreatedAt.getTacos().get(0).setCreatedAt(null);
+        String body = String.join("\n",
+                json(longState),
+                json(order("Kept", "FLTO")),
+                "null",
+                json(noTacos),
+                json(nullTaco),
+                json(noPlacedAt),
+                json(noCreatedAt));
+        long before = orderRepo.count();
+
+        mockMvc.perform(post("/orders/import")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(6))
+                .andExpect(jsonPath("$.errors[0].messages")
+                        .value(contains("deliveryState: Must be at most 2 characters")))
+                .andExpect(jsonPath("$.errors[1].messages").value(contains("Not a taco order: null")))
+                .andExpect(jsonPath("$.errors[2].messages")
+                        .value(contains("tacos: An order needs at least one taco")))
+                .andExpect(jsonPath("$.errors[3].messages").value(contains("tacos[0]: Must not be null")))
+                .andExpect(jsonPath("$.errors[4].messages").value(contains("placedAt: Must not be null")))
+                .andExpect(jsonPath("$.errors[5].messages")
+                        .value(contains("tacos[0].createdAt: Must not be null")));
+
+        assertThat(orderRepo.count()).isEqualTo(before + 1);
+    }
+
+    private String json(TacoOrder order) throws Exception {
+        return objectMapper.writeValueAsString(order);
+    }
+
+    private static TacoOrder order(String name, String... ingredientIds) {
+        TacoOrder order = TestOrders.order(name);
+        order.setTacos(List.of(taco(name + " Taco", ingredientIds)));
+        return order;
+    }
+
+}
@@ -0,0 +1,46 @@
+package tacos.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import tacos.data.OrderIngestion;
+import tacos.data.OrderQueueFullException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OrderQueueFullTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private OrderIngestion orderIngestion;
+
+    @Test
+    public void fullQueueAsksTheCustomerToRetry() throws Exception {
+        doThrow(new OrderQueueFullException("Order queue is full"))
+                .when(orderIngestion).submit(any());
+
+        mockMvc.perform(post("/orders")
+                        .param("deliveryName", "Test McTest")
+                        .param("deliveryStreet", "1234 Test Lane")
+                        .param("deliveryCity", "Testville")
+                        .param("deliveryState", "CO")
+                        .param("deliveryZip", "80123")
+                        .param("ccNumber", "4111111111111111")
+                        .param("ccExpiration", "10/29")
+                        .param("ccCVV", "123"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(status().reason("Too many orders right now, please try again shortly"));
+    }
+
+}
@@ -0,0 +1,69 @@
+package tacos.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class RequestMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void designAndOrderFlowIsPublishedOnMetricsEndpoint() throws Exception {
+        // Other tests in the same context design tacos too
+        double ingredientsBefore = meterRegistry.summary("taco.taco.ingredients").totalAmount();
+        MockHttpSession session = new MockHttpSession();
+        mockMvc.perform(get("/design").session(session))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/design").session(session)
+                        .param("name", "Metered Taco")
+                        .param("ingredients", "FLTO", "GRBF", "CHED"))
+                .andExpect(status().is3xxRedirection());
+        mockMvc.perform(post("/orders").session(session)
+                        .param("deliveryName", "Test McTest")
+                        .param("deliveryStreet", "1234 Test Lane")
+                        .param("deliveryCity", "Testville")
+                        .param("deliveryState", "CO")
+                        .param("deliveryZip", "80123")
+                        .param("ccNumber", "4111111111111111")
+                        .param("ccExpiration", "10/29")
+                        .param("ccCVV", "123"))
+                .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(get("/actuator/metrics/taco.request.phase")
+                        .param("tag", "handler:OrderController.processOrder"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[?(@.tag == 'phase')].values[*]",
+                        hasItems("binding", "validation", "persistence")));
+        mockMvc.perform(get("/actuator/metrics/taco.request")
+                        .param("tag", "handler:DesignTacoController.processTaco"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/taco.taco.ingredients"))
+                .andExpect(status().isOk());
+        assertThat(meterRegistry.summary("taco.taco.ingredients").totalAmount() - ingredientsBefore)
+                .isEqualTo(3.0);
+        mockMvc.perform(get("/actuator/metrics/taco.order.tacos"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/taco.repository")
+                        .param("tag", "repository:OrderRepository"))
+                .andExpect(status().isOk());
+    }
+
+}
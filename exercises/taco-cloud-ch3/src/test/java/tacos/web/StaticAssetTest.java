@@ -0,0 +1,86 @@
+package tacos.web;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class StaticAssetTest {
+
+    private static final String IMMUTABLE = "max-age=31536000, public, immutable";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void templatesLinkToFingerprintedAssets() throws Exception {
+        String page = mockMvc.perform(get("/design"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(page).containsPattern("href=\"/styles-[0-9a-f]{32}\\.css\"");
+        assertThat(page).containsPattern("src=\"/images/TacoCloud-[0-9a-f]{32}\\.png\"");
+        assertThat(page).doesNotContain("\"/styles.css\"");
+    }
+
+    @Test
+    public void fingerprintedAssetsArePrecompressedAndImmutable() throws Exception {
+        String stylesheet = stylesheetUrl();
+        byte[] original = new ClassPathResource("static/styles.css").getContentAsByteArray();
+
+        byte[] brotli = mockMvc.perform(get(stylesheet).header("Accept-Encoding", "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "br"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().string("Cache-Control", IMMUTABLE))
+                .andReturn().getResponse().getContentAsByteArray();
+        Brotli4jLoader.ensureAvailability();
+        assertThat(Decoder.decompress(brotli).getDecompressedData()).isEqualTo(original);
+
+        byte[] gzip = mockMvc.perform(get(stylesheet).header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(gzip)).readAllBytes()).isEqualTo(original);
+
+        mockMvc.perform(get(stylesheet))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(original));
+    }
+
+    @Test
+    public void plainAndStaleUrlsMustBeRevalidated() throws Exception {
+        mockMvc.perform(get("/styles.css"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"));
+        mockMvc.perform(get("/styles-00000000000000000000000000000000.css"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String stylesheetUrl() throws Exception {
+        String page = mockMvc.perform(get("/orders/history"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Matcher matcher = Pattern.compile("href=\"(/styles-[0-9a-f]{32}\\.css)\"").matcher(page);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+
+}